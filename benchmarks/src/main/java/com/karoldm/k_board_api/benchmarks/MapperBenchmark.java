@@ -0,0 +1,94 @@
+package com.karoldm.k_board_api.benchmarks;
+
+import com.karoldm.k_board_api.dto.response.ProjectResponseDTO;
+import com.karoldm.k_board_api.dto.response.TaskResponseDTO;
+import com.karoldm.k_board_api.entities.Project;
+import com.karoldm.k_board_api.entities.Task;
+import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.enums.TaskStatus;
+import com.karoldm.k_board_api.mappers.ProjectMapper;
+import com.karoldm.k_board_api.mappers.TaskMapper;
+import com.karoldm.k_board_api.utils.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response mapping for a task with {@code collectionSize} tags and responsible users, and a
+ * project with {@code collectionSize} members.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int collectionSize;
+
+    private Task task;
+    private Project project;
+
+    @Setup
+    public void setUp() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        User owner = user(0);
+
+        Set<User> users = new HashSet<>();
+        Set<String> tags = new HashSet<>();
+        for (int i = 0; i < collectionSize; i++) {
+            users.add(user(i + 1));
+            tags.add("tag-" + i);
+        }
+
+        project = Project.builder()
+                .id(UuidV7.randomUuid())
+                .title("Benchmark project")
+                .createdAt(now)
+                .owner(owner)
+                .members(users)
+                .totalTasks(30)
+                .completedTasks(10)
+                .build();
+
+        task = Task.builder()
+                .id(UuidV7.randomUuid())
+                .title("Task")
+                .description("A task description of a realistic length for the board")
+                .color("#ffcc00")
+                .status(TaskStatus.DOING.toString())
+                .createdAt(now)
+                .tags(tags)
+                .createdBy(owner)
+                .responsible(users)
+                .project(project)
+                .build();
+    }
+
+    @Benchmark
+    public TaskResponseDTO taskToResponse() {
+        return TaskMapper.toTaskResponseDTO(task);
+    }
+
+    @Benchmark
+    public ProjectResponseDTO projectToResponse() {
+        return ProjectMapper.toProjectResponseDTO(project);
+    }
+
+    private User user(int index) {
+        return User.builder()
+                .id(UuidV7.randomUuid())
+                .name("User " + index)
+                .email("user" + index + "@example.com")
+                .password("password")
+                .photoUrl("https://example.com/photos/" + index + ".png")
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .build();
+    }
+}
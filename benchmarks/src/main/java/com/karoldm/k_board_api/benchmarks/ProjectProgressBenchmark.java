@@ -0,0 +1,62 @@
+package com.karoldm.k_board_api.benchmarks;
+
+import com.karoldm.k_board_api.entities.Task;
+import com.karoldm.k_board_api.enums.TaskStatus;
+import com.karoldm.k_board_api.utils.ProjectProgress;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Progress from the stored task counters, against scanning the loaded task set
+ * the way it was computed before the counters existed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectProgressBenchmark {
+
+    @Param({"20", "500", "5000"})
+    public int taskCount;
+
+    private Set<Task> tasks;
+    private int completedTasks;
+
+    @Setup
+    public void setUp() {
+        TaskStatus[] statuses = TaskStatus.values();
+        tasks = new HashSet<>();
+
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(Task.builder()
+                    .title("Task " + i)
+                    .status(statuses[i % statuses.length].toString())
+                    .build());
+        }
+
+        completedTasks = (int) tasks.stream()
+                .filter(task -> task.getStatus().equals(TaskStatus.COMPLETED.toString()))
+                .count();
+    }
+
+    @Benchmark
+    public double progressFromCounters() {
+        return ProjectProgress.calculeProgress(completedTasks, tasks.size());
+    }
+
+    @Benchmark
+    public double progressScanningTasks() {
+        if (tasks.isEmpty()) return 0.0;
+
+        long completed = tasks.stream()
+                .filter(task -> task.getStatus().equals(TaskStatus.COMPLETED.toString()))
+                .count();
+
+        return (double) completed / (double) tasks.size();
+    }
+}
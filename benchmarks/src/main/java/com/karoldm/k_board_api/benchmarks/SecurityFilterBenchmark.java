@@ -0,0 +1,83 @@
+package com.karoldm.k_board_api.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.infra.security.SecurityFilter;
+import com.karoldm.k_board_api.infra.security.SessionUserCache;
+import com.karoldm.k_board_api.infra.security.TokenVerificationCache;
+import com.karoldm.k_board_api.repositories.UserRepository;
+import com.karoldm.k_board_api.services.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * One authenticated request through {@link SecurityFilter} with a mocked {@link UserRepository}.
+ * {@code cached} uses the production caches; without them every request verifies the token
+ * signature and loads the user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterBenchmark {
+    private static final String EMAIL = "user@example.com";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {};
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private SecurityFilter securityFilter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TokenService tokenService = new TokenService("benchmark-secret", "primary", "");
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(User.builder()
+                .id(UUID.randomUUID())
+                .name("User")
+                .email(EMAIL)
+                .password("password")
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .build());
+
+        // a zero-sized cache evicts every entry, so each request verifies the token and loads the user
+        long cacheSize = cached ? 10_000 : 0;
+        securityFilter = new SecurityFilter(
+                new ObjectMapper(),
+                new TokenVerificationCache(tokenService, meterRegistry, cacheSize, cacheSize, 900, 30),
+                new SessionUserCache(userRepository, meterRegistry, cacheSize, 300));
+
+        authorization = "Bearer " + tokenService.generateToken(EMAIL);
+    }
+
+    @Benchmark
+    public int authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/project/owner");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        securityFilter.doFilter(request, response, NO_OP_CHAIN);
+        SecurityContextHolder.clearContext();
+
+        return response.getStatus();
+    }
+}
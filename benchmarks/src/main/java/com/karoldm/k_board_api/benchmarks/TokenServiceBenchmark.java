@@ -0,0 +1,63 @@
+package com.karoldm.k_board_api.benchmarks;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.karoldm.k_board_api.services.TokenService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares token handling against the previous implementation, which rebuilt the
+ * {@link Algorithm} and the verifier on every call. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm} to see the per-request allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+    private static final String SECRET = "benchmark-secret";
+    private static final String EMAIL = "user@example.com";
+
+    private TokenService tokenService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService(SECRET, "primary", "previous:benchmark-previous-secret");
+        token = tokenService.generateToken(EMAIL);
+    }
+
+    @Benchmark
+    public String validateToken() {
+        return tokenService.validateToken(token);
+    }
+
+    @Benchmark
+    public String validateTokenRebuildingVerifier() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+
+        return JWT.require(algorithm)
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(EMAIL);
+    }
+
+    @Benchmark
+    public String generateTokenRebuildingAlgorithm() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+
+        return JWT.create()
+                .withSubject(EMAIL)
+                .withExpiresAt(tokenService.generateExpirationDate())
+                .sign(algorithm);
+    }
+}
@@ -0,0 +1,104 @@
+package com.karoldm.k_board_api.benchmarks;
+
+import com.karoldm.k_board_api.utils.UuidV7;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput of random v4 ids against {@link UuidV7} ids on an embedded Postgres,
+ * into a table shaped like {@code tasks} that already holds {@code preloadedRows} rows.
+ * Scores are rows per second; primary-key index bytes per row are printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UuidInsertBenchmark {
+    private static final int BATCH_SIZE = 500;
+
+    public enum IdStrategy {
+        RANDOM_V4(UUID::randomUUID),
+        TIME_ORDERED_V7(UuidV7::randomUuid);
+
+        private final Supplier<UUID> generator;
+
+        IdStrategy(Supplier<UUID> generator) {
+            this.generator = generator;
+        }
+    }
+
+    @Param({"RANDOM_V4", "TIME_ORDERED_V7"})
+    public IdStrategy idStrategy;
+
+    @Param({"200000"})
+    public int preloadedRows;
+
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+    private PreparedStatement insert;
+    private UUID projectId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        connection = postgres.getPostgresDatabase().getConnection();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                CREATE TABLE tasks (
+                    id uuid PRIMARY KEY,
+                    project_id uuid NOT NULL,
+                    title varchar(255) NOT NULL,
+                    created_at timestamp with time zone NOT NULL DEFAULT now()
+                )
+            """);
+            statement.execute("CREATE INDEX idx_tasks_project_created ON tasks (project_id, created_at, id)");
+        }
+
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO tasks (id, project_id, title) VALUES (?, ?, ?)");
+        projectId = UUID.randomUUID();
+
+        for (int inserted = 0; inserted < preloadedRows; inserted += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        try (Statement statement = connection.createStatement();
+             var result = statement.executeQuery(
+                     "SELECT pg_relation_size('tasks_pkey') / count(*) FROM tasks")) {
+            result.next();
+            System.out.println(idStrategy + " primary key index bytes per row: " + result.getLong(1));
+        }
+
+        connection.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, idStrategy.generator.get());
+            insert.setObject(2, projectId);
+            insert.setString(3, "Task " + i);
+            insert.addBatch();
+        }
+
+        insert.executeBatch();
+        connection.commit();
+    }
+}
@@ -0,0 +1,256 @@
+package com.karoldm.k_board_api.loadtest;
+
+import com.karoldm.k_board_api.utils.UuidV7;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Seeds the application schema with synthetic data through batched JDBC inserts.
+ *
+ * <p>Every user is {@code user<n>@loadtest.local} with the password {@value #PASSWORD}, which is
+ * what {@link LoadDriver} logs in with. With {@code --task-distribution=skewed} the n-th project
+ * gets {@code max-tasks-per-project / n} tasks, so a few boards are very large and most are small.
+ */
+final class DataGenerator {
+    static final String PASSWORD = "loadtest";
+    static final String EMAIL_DOMAIN = "@loadtest.local";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] STATUSES = {"PENDING", "DOING", "COMPLETED"};
+    private static final String[] COLORS = {"#F87171", "#FBBF24", "#34D399", "#60A5FA", "#A78BFA"};
+    private static final String[] TAGS = {"backend", "frontend", "bug", "feature", "urgent", "design",
+            "infra", "docs", "test", "refactor", "api", "mobile"};
+    private static final List<String> TAG_NAMES = List.of(TAGS);
+
+    private final Options options;
+    private final Random random;
+
+    private final int users;
+    private final int projects;
+    private final int membersPerProject;
+    private final int tasksPerProject;
+    private final int maxTasksPerProject;
+    private final boolean skewed;
+    private final int tagsPerTask;
+    private final int responsiblesPerTask;
+
+    DataGenerator(Options options) {
+        this.options = options;
+        this.random = new Random(options.number("seed", 42));
+        this.users = options.integer("users", 1000);
+        this.projects = options.integer("projects", 2000);
+        this.membersPerProject = options.integer("members-per-project", 5);
+        this.tasksPerProject = options.integer("tasks-per-project", 50);
+        this.maxTasksPerProject = options.integer("max-tasks-per-project", 10000);
+        this.skewed = switch (options.string("task-distribution", "uniform")) {
+            case "uniform" -> false;
+            case "skewed" -> true;
+            default -> throw new IllegalArgumentException("task-distribution must be uniform or skewed");
+        };
+        this.tagsPerTask = options.integer("tags-per-task", 2);
+        this.responsiblesPerTask = options.integer("responsibles-per-task", 1);
+    }
+
+    void generate() throws Exception {
+        if (options.flag("embedded")) {
+            try (EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                    .setPort(options.integer("port", 5433))
+                    .start()) {
+                System.out.println("embedded postgres: " + postgres.getJdbcUrl("postgres", "postgres"));
+                seed(postgres.getDatabase("postgres", "postgres", Map.of("reWriteBatchedInserts", "true")));
+                System.out.println("database is up, press Ctrl+C to stop it");
+                new CountDownLatch(1).await();
+            }
+        } else {
+            PGSimpleDataSource dataSource = new PGSimpleDataSource();
+            dataSource.setUrl(options.string("jdbc-url", "jdbc:postgresql://localhost:5432/kboard"));
+            dataSource.setUser(options.string("db-user", "postgres"));
+            dataSource.setPassword(options.string("db-password", "root"));
+            dataSource.setReWriteBatchedInserts(true);
+            seed(dataSource);
+        }
+    }
+
+    private void seed(DataSource dataSource) throws SQLException {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            List<UUID> userIds = insertUsers(connection);
+            long tasks = insertProjectsAndTasks(connection, userIds);
+            refreshProjectCounters(connection);
+            connection.commit();
+
+            System.out.printf("seeded %d users, %d projects and %d tasks in %s%n",
+                    users, projects, tasks, Duration.ofNanos(System.nanoTime() - start).withNanos(0));
+        }
+    }
+
+    private List<UUID> insertUsers(Connection connection) throws SQLException {
+        String password = new BCryptPasswordEncoder().encode(PASSWORD);
+        List<UUID> ids = new ArrayList<>(users);
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO users (id, name, email, password, created_at) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < users; i++) {
+                UUID id = UuidV7.randomUuid();
+                ids.add(id);
+                insert.setObject(1, id);
+                insert.setString(2, "Load Test User " + i);
+                insert.setString(3, "user" + i + EMAIL_DOMAIN);
+                insert.setString(4, password);
+                insert.setTimestamp(5, pastTimestamp());
+                addBatch(insert, i);
+            }
+            insert.executeBatch();
+        }
+        return ids;
+    }
+
+    private long insertProjectsAndTasks(Connection connection, List<UUID> userIds) throws SQLException {
+        long taskCount = 0;
+
+        try (PreparedStatement project = connection.prepareStatement(
+                "INSERT INTO projects (id, title, created_at, owner_id) VALUES (?, ?, ?, ?)");
+             PreparedStatement participation = connection.prepareStatement(
+                     "INSERT INTO project_participation (project_id, user_id) VALUES (?, ?)");
+             PreparedStatement task = connection.prepareStatement(
+                     "INSERT INTO tasks (id, title, description, color, status, created_at, project_id, user_id) "
+                             + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement tag = connection.prepareStatement(
+                     "INSERT INTO tasks_tags (tasks_id, tags) VALUES (?, ?)");
+             PreparedStatement responsible = connection.prepareStatement(
+                     "INSERT INTO task_atribuization (task_id, user_id) VALUES (?, ?)")) {
+
+            for (int p = 0; p < projects; p++) {
+                UUID projectId = UuidV7.randomUuid();
+                UUID ownerId = userIds.get(random.nextInt(userIds.size()));
+
+                project.setObject(1, projectId);
+                project.setString(2, "Project " + p + " " + TAGS[random.nextInt(TAGS.length)]);
+                project.setTimestamp(3, pastTimestamp());
+                project.setObject(4, ownerId);
+                project.addBatch();
+
+                List<UUID> members = new ArrayList<>(pickDistinct(userIds, membersPerProject, ownerId));
+                for (UUID memberId : members) {
+                    participation.setObject(1, projectId);
+                    participation.setObject(2, memberId);
+                    participation.addBatch();
+                }
+
+                List<UUID> assignable = new ArrayList<>(members);
+                assignable.add(ownerId);
+
+                int tasks = skewed ? Math.max(1, maxTasksPerProject / (p + 1)) : tasksPerProject;
+                for (int t = 0; t < tasks; t++) {
+                    UUID taskId = UuidV7.randomUuid();
+                    task.setObject(1, taskId);
+                    task.setString(2, "Task " + t);
+                    task.setString(3, "Synthetic task " + t + " of project " + p);
+                    task.setString(4, COLORS[random.nextInt(COLORS.length)]);
+                    task.setString(5, STATUSES[random.nextInt(STATUSES.length)]);
+                    task.setTimestamp(6, pastTimestamp());
+                    task.setObject(7, projectId);
+                    task.setObject(8, assignable.get(random.nextInt(assignable.size())));
+                    task.addBatch();
+
+                    for (String tagName : pickDistinct(TAG_NAMES, tagsPerTask, null)) {
+                        tag.setObject(1, taskId);
+                        tag.setString(2, tagName);
+                        tag.addBatch();
+                    }
+                    for (UUID userId : pickDistinct(assignable, responsiblesPerTask, null)) {
+                        responsible.setObject(1, taskId);
+                        responsible.setObject(2, userId);
+                        responsible.addBatch();
+                    }
+
+                    if (++taskCount % BATCH_SIZE == 0) {
+                        flush(project, participation, task, tag, responsible);
+                    }
+                }
+
+                if ((p + 1) % BATCH_SIZE == 0) {
+                    flush(project, participation, task, tag, responsible);
+                }
+            }
+            flush(project, participation, task, tag, responsible);
+        }
+        return taskCount;
+    }
+
+    private void refreshProjectCounters(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("""
+                UPDATE projects p SET
+                    total_tasks = counts.total,
+                    completed_tasks = counts.completed
+                FROM (
+                    SELECT project_id, count(*) AS total, count(*) FILTER (WHERE status = 'COMPLETED') AS completed
+                    FROM tasks GROUP BY project_id
+                ) counts
+                WHERE counts.project_id = p.id
+            """);
+        }
+    }
+
+    private void addBatch(PreparedStatement statement, int index) throws SQLException {
+        statement.addBatch();
+        if ((index + 1) % BATCH_SIZE == 0) {
+            statement.executeBatch();
+        }
+    }
+
+    /** Parents first, so the foreign keys of the child rows are already satisfied. */
+    private void flush(PreparedStatement... statements) throws SQLException {
+        for (PreparedStatement statement : statements) {
+            statement.executeBatch();
+        }
+    }
+
+    private <T> Set<T> pickDistinct(List<T> candidates, int count, T excluded) {
+        int available = candidates.size() - (excluded == null ? 0 : 1);
+        int wanted = Math.min(count, available);
+        Set<T> picked = new LinkedHashSet<>();
+        while (picked.size() < wanted) {
+            T candidate = candidates.get(random.nextInt(candidates.size()));
+            if (!candidate.equals(excluded)) {
+                picked.add(candidate);
+            }
+        }
+        return picked;
+    }
+
+    private Timestamp pastTimestamp() {
+        return Timestamp.from(Instant.now().minusSeconds(random.nextInt(365 * 24 * 3600)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.karoldm.k_board_api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microseconds) and error count of one endpoint during the measured window.
+ */
+final class EndpointStats {
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void record(long latencyNanos, boolean success) {
+        latencies.recordValue(Math.max(1, latencyNanos / 1_000));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    Map<String, Object> summary(Duration window) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        long count = latencies.getTotalCount();
+        summary.put("requests", count);
+        summary.put("errors", errors.sum());
+        summary.put("throughputPerSecond", round(count / (window.toMillis() / 1000.0)));
+        summary.put("p50Millis", percentile(50));
+        summary.put("p90Millis", percentile(90));
+        summary.put("p99Millis", percentile(99));
+        summary.put("maxMillis", count == 0 ? 0.0 : round(latencies.getMaxValue() / 1000.0));
+        return summary;
+    }
+
+    private double percentile(double percentile) {
+        return latencies.getTotalCount() == 0 ? 0.0 : round(latencies.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,300 @@
+package com.karoldm.k_board_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load driver: requests are scheduled at a fixed rate regardless of how fast the
+ * API answers, and each latency is measured from the request's scheduled start rather than from
+ * the moment it was actually sent, so a stalled server shows up in the percentiles instead of
+ * silently lowering the offered load.
+ */
+final class LoadDriver {
+    private static final String[] STATUSES = {"PENDING", "DOING", "COMPLETED"};
+
+    enum Operation {
+        LOGIN("POST /auth/login"),
+        OWNED_PROJECTS("GET /project/owner"),
+        MEMBER_PROJECTS("GET /project/member"),
+        BOARD("GET /task/{projectId}/board"),
+        BOARD_FULL("GET /task/{projectId}"),
+        COLUMN("GET /task/{projectId}/column/{status}"),
+        EDIT_TASK("PUT /task/{taskId}");
+
+        private final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    private record Session(String email, String token, UUID userId, List<UUID> projectIds, List<UUID> taskIds) {
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int rps;
+    private final Duration duration;
+    private final Duration warmup;
+    private final int virtualUsers;
+    private final Semaphore inFlight;
+    private final Path report;
+    private final Map<Operation, Integer> mix;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final LongAdder dropped = new LongAdder();
+
+    LoadDriver(Options options) {
+        this.baseUrl = options.string("base-url", "http://localhost:8080");
+        this.rps = options.integer("rps", 100);
+        this.duration = options.duration("duration", Duration.ofSeconds(60));
+        this.warmup = options.duration("warmup", Duration.ofSeconds(10));
+        this.virtualUsers = options.integer("virtual-users", 50);
+        this.inFlight = new Semaphore(options.integer("max-in-flight", 512));
+        this.report = Path.of(options.string("report", "target/loadtest-report.json"));
+        this.mix = parseMix(options.string("mix", "login:1,owner:3,member:2,board:4,board-full:4,column:3,edit:2"));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation.endpoint));
+        }
+    }
+
+    void run() throws Exception {
+        List<Session> sessions = openSessions();
+        List<Session> withTasks = sessions.stream().filter(session -> !session.taskIds().isEmpty()).toList();
+        if (withTasks.isEmpty()) {
+            throw new IllegalStateException("none of the virtual users can see a task, seed the database first");
+        }
+        System.out.printf("%d virtual users ready, offering %d req/s for %s after %s of warmup%n",
+                sessions.size(), rps, duration, warmup);
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+
+        for (long intended = start; intended < end; intended += intervalNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = pickOperation();
+            Session session = operation == Operation.LOGIN || operation == Operation.OWNED_PROJECTS
+                    || operation == Operation.MEMBER_PROJECTS ? pick(sessions) : pick(withTasks);
+            boolean measured = intended >= measureFrom;
+
+            // waiting here would delay every later send and release them as a burst
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            long scheduledAt = intended;
+            pending.add(client.sendAsync(request(operation, session), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        inFlight.release();
+                        if (measured) {
+                            boolean success = failure == null && response.statusCode() < 400;
+                            stats.get(operation).record(System.nanoTime() - scheduledAt, success);
+                        }
+                        return null;
+                    }));
+            pending.removeIf(CompletableFuture::isDone);
+        }
+
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        writeReport();
+    }
+
+    private List<Session> openSessions() throws IOException, InterruptedException {
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < virtualUsers; i++) {
+            String email = "user" + i + DataGenerator.EMAIL_DOMAIN;
+            HttpResponse<String> login = client.send(request(Operation.LOGIN, email, null, null, null),
+                    HttpResponse.BodyHandlers.ofString());
+            if (login.statusCode() != 200) {
+                throw new IllegalStateException("login failed for " + email + ": HTTP " + login.statusCode());
+            }
+            JsonNode body = objectMapper.readTree(login.body());
+            String token = body.path("token").asText();
+            UUID userId = UUID.fromString(body.path("user").path("id").asText());
+
+            List<UUID> projectIds = new ArrayList<>();
+            collectIds(get("/project/owner?size=50&includeTotal=false", token).path("content"), projectIds);
+            collectIds(get("/project/member?size=50&includeTotal=false", token).path("content"), projectIds);
+
+            List<UUID> taskIds = new ArrayList<>();
+            for (UUID projectId : projectIds.subList(0, Math.min(5, projectIds.size()))) {
+                JsonNode board = get("/task/" + projectId + "/board", token);
+                for (String column : List.of("pending", "doing", "completed")) {
+                    collectIds(board.path(column).path("tasks"), taskIds);
+                }
+            }
+            sessions.add(new Session(email, token, userId, projectIds, taskIds));
+        }
+        return sessions;
+    }
+
+    private HttpRequest request(Operation operation, Session session) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // the web client filters the full board by the signed-in member about half the time
+        return request(operation, session.email(), session.token(),
+                session.projectIds().isEmpty() ? null : pick(session.projectIds()),
+                session.taskIds().isEmpty() ? null : pick(session.taskIds()),
+                random.nextBoolean() ? session.userId() : null,
+                STATUSES[random.nextInt(STATUSES.length)], random.nextInt(3));
+    }
+
+    private HttpRequest request(Operation operation, String email, String token, UUID projectId, UUID taskId) {
+        return request(operation, email, token, projectId, taskId, null, STATUSES[0], 0);
+    }
+
+    private HttpRequest request(Operation operation, String email, String token, UUID projectId, UUID taskId,
+                                UUID memberId, String status, int page) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+
+        return switch (operation) {
+            case LOGIN -> builder.uri(uri("/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(json(Map.of("email", email, "password", DataGenerator.PASSWORD)))
+                    .build();
+            case OWNED_PROJECTS -> builder.uri(uri("/project/owner?page=" + page)).GET().build();
+            case MEMBER_PROJECTS -> builder.uri(uri("/project/member?page=" + page)).GET().build();
+            case BOARD -> builder.uri(uri("/task/" + projectId + "/board")).GET().build();
+            case BOARD_FULL -> builder.uri(uri("/task/" + projectId + (memberId != null ? "?memberId=" + memberId : "")))
+                    .GET().build();
+            case COLUMN -> builder.uri(uri("/task/" + projectId + "/column/" + status)).GET().build();
+            case EDIT_TASK -> builder.uri(uri("/task/" + taskId))
+                    .header("Content-Type", "application/json")
+                    .PUT(json(Map.of("status", status)))
+                    .build();
+        };
+    }
+
+    private JsonNode get(String path, String token) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " failed: HTTP " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private void writeReport() throws IOException {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%n%-40s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+
+        for (EndpointStats endpoint : stats.values()) {
+            Map<String, Object> summary = endpoint.summary(duration);
+            endpoints.put(endpoint.name(), summary);
+            System.out.printf("%-40s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint.name(),
+                    summary.get("requests"), summary.get("errors"), summary.get("throughputPerSecond"),
+                    summary.get("p50Millis"), summary.get("p90Millis"), summary.get("p99Millis"),
+                    summary.get("maxMillis"));
+        }
+        System.out.printf("dropped (in-flight limit reached): %d%n", dropped.sum());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("baseUrl", baseUrl);
+        result.put("targetRps", rps);
+        result.put("durationSeconds", duration.toSeconds());
+        result.put("virtualUsers", virtualUsers);
+        result.put("dropped", dropped.sum());
+        result.put("endpoints", endpoints);
+
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), result);
+        System.out.println("report written to " + report.toAbsolutePath());
+    }
+
+    private Operation pickOperation() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("empty mix");
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            Operation operation = switch (parts[0].trim()) {
+                case "login" -> Operation.LOGIN;
+                case "owner" -> Operation.OWNED_PROJECTS;
+                case "member" -> Operation.MEMBER_PROJECTS;
+                case "board" -> Operation.BOARD;
+                case "board-full" -> Operation.BOARD_FULL;
+                case "column" -> Operation.COLUMN;
+                case "edit" -> Operation.EDIT_TASK;
+                default -> throw new IllegalArgumentException("unknown operation in mix: " + parts[0]);
+            };
+            weights.put(operation, Integer.parseInt(parts[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("mix needs at least one positive weight");
+        }
+        return weights;
+    }
+
+    private void collectIds(JsonNode items, List<UUID> ids) {
+        for (JsonNode item : items) {
+            ids.add(UUID.fromString(item.path("id").asText()));
+        }
+    }
+
+    private HttpRequest.BodyPublisher json(Map<String, String> body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
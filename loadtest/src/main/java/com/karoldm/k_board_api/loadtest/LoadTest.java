@@ -0,0 +1,34 @@
+package com.karoldm.k_board_api.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of the load-test suite.
+ *
+ * <pre>
+ * generate  seeds a Postgres database (or an embedded one) with synthetic users, projects and tasks
+ * run       drives the running API at a fixed request rate and reports latency per endpoint
+ * </pre>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("usage: LoadTest (generate|run) [--option=value ...]");
+            System.exit(2);
+        }
+
+        Options options = new Options(Arrays.copyOfRange(args, 1, args.length));
+        switch (args[0]) {
+            case "generate" -> new DataGenerator(options).generate();
+            case "run" -> new LoadDriver(options).run();
+            default -> {
+                System.err.println("unknown command: " + args[0]);
+                System.exit(2);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.karoldm.k_board_api.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code --key=value} command line options; a bare {@code --flag} reads as {@code true}.
+ */
+final class Options {
+    private final Map<String, String> values = new HashMap<>();
+
+    Options(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+    }
+
+    String string(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    int integer(String key, int defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    long number(String key, long defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    boolean flag(String key) {
+        return Boolean.parseBoolean(values.getOrDefault(key, "false"));
+    }
+
+    Duration duration(String key, Duration defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Duration.parse("PT" + value.toUpperCase());
+    }
+}
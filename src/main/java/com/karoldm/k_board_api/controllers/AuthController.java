@@ -33,14 +33,12 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "successful operation"),
             @ApiResponse(responseCode = "400", description = "invalid body data",
             content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "503", description = "too many concurrent logins, retry later",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
     })
     public ResponseEntity<LoginResponseDTO> login(@RequestBody @Valid LoginPayloadDTO data) {
-        try {
-            LoginResponseDTO response = authService.authenticateUser(data);
-            return ResponseEntity.ok().body(response);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        LoginResponseDTO response = authService.authenticateUser(data);
+        return ResponseEntity.ok().body(response);
     }
 
     @PostMapping(value = "/register", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
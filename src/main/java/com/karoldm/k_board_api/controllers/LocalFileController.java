@@ -0,0 +1,190 @@
+package com.karoldm.k_board_api.controllers;
+
+import com.karoldm.k_board_api.infra.storage.LocalStorageBackend;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+/**
+ * Serves the files of the local storage backend and takes their presigned uploads. Keys are
+ * never reused, so downloads are cacheable for good and validated by an ETag of size and
+ * modification time. Bodies go out through Tomcat's sendfile when the connector supports
+ * it and through {@link FileChannel#transferTo} otherwise, without copying through the heap.
+ */
+@Hidden
+@RestController
+@RequestMapping(LocalFileController.PATH)
+@ConditionalOnProperty(name = "api.storage.backend", havingValue = "local")
+public class LocalFileController {
+    public static final String PATH = "/files";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalStorageBackend storage;
+    private final long maxUploadBytes;
+
+    public LocalFileController(
+            LocalStorageBackend storage,
+            @Value("${api.storage.local.max-upload-bytes}") long maxUploadBytes) {
+        this.storage = storage;
+        this.maxUploadBytes = maxUploadBytes;
+    }
+
+    @GetMapping("/**")
+    public void download(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String key = keyOf(request);
+        Path file;
+        BasicFileAttributes attributes;
+        try {
+            file = storage.resolve(key);
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IllegalArgumentException | NoSuchFileException ex) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        if (!attributes.isRegularFile()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && length > 0 && rangeApplies(request, etag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException ex) {
+                ranges = List.of();
+            }
+
+            // several ranges would need a multipart body, the whole file answers them just as well
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+                if (start >= length || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        response.setContentType(storage.contentTypeOf(key));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentLengthLong(end - start + 1);
+        if (!"GET".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toFile().getCanonicalPath());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel body = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long sent = channel.transferTo(position, end + 1 - position, body);
+                if (sent <= 0) break;
+                position += sent;
+            }
+        }
+    }
+
+    /** Target of the URLs {@link LocalStorageBackend#presignUpload} hands out. */
+    @PutMapping("/**")
+    public void upload(
+            @RequestParam long expires,
+            @RequestParam String signature,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        String key = keyOf(request);
+        try {
+            storage.resolve(key);
+        } catch (IllegalArgumentException ex) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        if (!storage.verifyUpload(key, request.getContentType(), expires, signature)) {
+            response.sendError(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+
+        // a declared length lets the container stop reading at it, chunked bodies have none
+        long length = request.getContentLengthLong();
+        if (length < 0) {
+            response.sendError(HttpStatus.LENGTH_REQUIRED.value());
+            return;
+        }
+        if (length > maxUploadBytes) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+
+        try (InputStream content = request.getInputStream()) {
+            storage.put(key, content, length, request.getContentType(), null);
+        }
+        response.setStatus(HttpStatus.OK.value());
+    }
+
+    private static String keyOf(HttpServletRequest request) {
+        String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        return path.length() > PATH.length() + 1 ? path.substring(PATH.length() + 1) : "";
+    }
+
+    private static boolean rangeApplies(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) == lastModified / 1000 * 1000;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+}
@@ -5,8 +5,10 @@ import com.karoldm.k_board_api.dto.payload.ProjectPayloadDTO;
 import com.karoldm.k_board_api.dto.payload.EditProjectPayloadDTO;
 import com.karoldm.k_board_api.dto.response.ErrorResponseDTO;
 import com.karoldm.k_board_api.dto.response.ProjectResponseDTO;
+import com.karoldm.k_board_api.enums.ProjectSearchMode;
 import com.karoldm.k_board_api.services.ProjectService;
 import com.karoldm.k_board_api.services.UserService;
+import com.karoldm.k_board_api.utils.ProjectETag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,10 +16,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -47,39 +50,49 @@ public class ProjectController {
 
     @GetMapping("/owner")
     @Operation(
-            summary = "List all projects that user is owner")
+            summary = "List all projects that user is owner",
+            description = "searchMode filters titles by substring (CONTAINS), prefix (PREFIX) or orders them by similarity "
+                    + "to the filter (RANKED, ignores sortBy). Set includeTotal=false to skip the total count "
+                    + "and only get whether there is a next page")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "get successfully"),
             @ApiResponse(responseCode = "401", description = "unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
     })
-    public ResponseEntity<Page<ProjectResponseDTO>>  getAllProjectsByUser(
+    public ResponseEntity<Slice<ProjectResponseDTO>> getAllProjectsByUser(
             @RequestParam(defaultValue = "") String filter,
+            @RequestParam(defaultValue = "CONTAINS") ProjectSearchMode searchMode,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
 
-        Page<ProjectResponseDTO> responseProjects = projectService
-                .getAllProjectsByUser(filter, page, size, sortBy, direction);
+        Slice<ProjectResponseDTO> responseProjects = projectService
+                .getAllProjectsByUser(filter, searchMode, page, size, sortBy, direction, includeTotal);
 
         return ResponseEntity.ok(responseProjects);
     }
 
     @GetMapping("/member")
     @Operation(
-            summary = "List all projects that user is member")
+            summary = "List all projects that user is member",
+            description = "searchMode filters titles by substring (CONTAINS), prefix (PREFIX) or orders them by similarity "
+                    + "to the filter (RANKED, ignores sortBy). Set includeTotal=false to skip the total count "
+                    + "and only get whether there is a next page")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "get successfully"),
             @ApiResponse(responseCode = "401", description = "unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
     })
-    public ResponseEntity<Page<ProjectResponseDTO>> getAllProjectsByUserParticipation(
+    public ResponseEntity<Slice<ProjectResponseDTO>> getAllProjectsByUserParticipation(
             @RequestParam(defaultValue = "") String filter,
+            @RequestParam(defaultValue = "CONTAINS") ProjectSearchMode searchMode,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String direction) {
-        Page<ProjectResponseDTO> responseProjects = projectService
-                .getAllProjectsByUserParticipation(filter, page, size, sortBy, direction);
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
+        Slice<ProjectResponseDTO> responseProjects = projectService
+                .getAllProjectsByUserParticipation(filter, searchMode, page, size, sortBy, direction, includeTotal);
 
         return ResponseEntity.ok(responseProjects);
     }
@@ -126,9 +139,14 @@ public class ProjectController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectResponseDTO> getProjectById(@PathVariable UUID id) {
+    public ResponseEntity<ProjectResponseDTO> getProjectById(@PathVariable UUID id, WebRequest request) {
+        String etag = ProjectETag.of(projectService.getProjectVersion(id));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ProjectETag.CACHE_CONTROL).build();
+        }
+
         ProjectResponseDTO project = projectService.getProjectById(id);
-        return ResponseEntity.ok(project);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ProjectETag.CACHE_CONTROL).body(project);
     }
 
 }
@@ -3,28 +3,38 @@ package com.karoldm.k_board_api.controllers;
 import com.karoldm.k_board_api.dto.payload.EditTaskPayloadDTO;
 import com.karoldm.k_board_api.dto.payload.TaskPayloadDTO;
 import com.karoldm.k_board_api.dto.response.ErrorResponseDTO;
+import com.karoldm.k_board_api.dto.response.TaskBoardPageResponseDTO;
+import com.karoldm.k_board_api.dto.response.TaskColumnResponseDTO;
 import com.karoldm.k_board_api.dto.response.TaskListResponseDTO;
 import com.karoldm.k_board_api.dto.response.TaskResponseDTO;
 import com.karoldm.k_board_api.entities.Project;
 import com.karoldm.k_board_api.entities.Task;
 import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.enums.TaskStatus;
 import com.karoldm.k_board_api.mappers.TaskMapper;
+import com.karoldm.k_board_api.services.BoardEventService;
 import com.karoldm.k_board_api.services.ProjectService;
 import com.karoldm.k_board_api.services.TaskService;
 import com.karoldm.k_board_api.services.UserService;
+import com.karoldm.k_board_api.utils.ProjectETag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -35,6 +45,7 @@ public class TaskController {
     private final TaskService taskService;
     private final UserService userService;
     private final ProjectService projectService;
+    private final BoardEventService boardEventService;
 
     @PostMapping
     @Operation(
@@ -56,16 +67,83 @@ public class TaskController {
             summary = "get tasks by project")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "get successfully"),
+            @ApiResponse(responseCode = "304", description = "no change since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "401", description = "unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
             @ApiResponse(responseCode = "403", description = "user is not owner neither member of the project", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
     })
     public ResponseEntity<TaskListResponseDTO> getAllTasksByProject(
-            @PathVariable UUID projectId, @RequestParam Optional<UUID> memberId
+            @PathVariable UUID projectId, @RequestParam Optional<UUID> memberId, WebRequest request
           ) {
+        // read before the tasks, a change committed in between only costs the client one more full read
+        String etag = ProjectETag.of(projectService.getProjectVersion(projectId), memberId);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ProjectETag.CACHE_CONTROL).build();
+        }
+
         TaskListResponseDTO responseTasks = taskService.getTasksByProject(projectId, memberId);
-        return ResponseEntity.ok(responseTasks);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ProjectETag.CACHE_CONTROL).body(responseTasks);
+    }
+
+
+    @GetMapping(value = "/{projectId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "subscribe to the changes of a board",
+            description = "server-sent events task-created and task-updated with the task, task-deleted and project-deleted with its id, project-updated with the project. Events are not replayed, reload the board after reconnecting")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "subscribed successfully"),
+            @ApiResponse(responseCode = "401", description = "unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "403", description = "user is not owner neither member of the project", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "503", description = "too many open event streams", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+    })
+    public void subscribeToBoardEvents(
+            @PathVariable UUID projectId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        boardEventService.subscribe(projectId, request, response);
+    }
+
+    @GetMapping("/{projectId}/board")
+    @Operation(
+            summary = "get the first page of each board column",
+            description = "returns the first tasks of each status column and the column totals, use the column endpoint with nextCursor to load more")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "get successfully"),
+            @ApiResponse(responseCode = "400", description = "invalid page size", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "401", description = "unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "403", description = "user is not owner neither member of the project", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+    })
+    public ResponseEntity<TaskBoardPageResponseDTO> getTaskBoardPage(
+            @PathVariable UUID projectId,
+            @RequestParam Optional<UUID> memberId,
+            @RequestParam(defaultValue = "20") int pendingSize,
+            @RequestParam(defaultValue = "20") int doingSize,
+            @RequestParam(defaultValue = "20") int completedSize
+    ) {
+        TaskBoardPageResponseDTO board = taskService.getTaskBoardPage(
+                projectId, memberId, pendingSize, doingSize, completedSize);
+        return ResponseEntity.ok(board);
     }
 
+    @GetMapping("/{projectId}/column/{status}")
+    @Operation(
+            summary = "get a page of tasks of one board column",
+            description = "tasks are ordered by creation date, pass the nextCursor of the previous page to get the next one. The column total is only counted on the first page, it is null on the pages a cursor asks for")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "get successfully"),
+            @ApiResponse(responseCode = "400", description = "invalid cursor or page size", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "401", description = "unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "403", description = "user is not owner neither member of the project", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+    })
+    public ResponseEntity<TaskColumnResponseDTO> getTaskColumn(
+            @PathVariable UUID projectId,
+            @PathVariable TaskStatus status,
+            @RequestParam Optional<String> cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam Optional<UUID> memberId
+    ) {
+        TaskColumnResponseDTO column = taskService.getTaskColumn(projectId, status, cursor, size, memberId);
+        return ResponseEntity.ok(column);
+    }
 
     @PutMapping("/{taskId}")
     @Operation(
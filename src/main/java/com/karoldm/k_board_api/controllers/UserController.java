@@ -1,8 +1,11 @@
 package com.karoldm.k_board_api.controllers;
 
+import com.karoldm.k_board_api.dto.payload.CompletePhotoUploadPayloadDTO;
 import com.karoldm.k_board_api.dto.payload.EditPasswordPayloadDTO;
 import com.karoldm.k_board_api.dto.payload.EditUserPayloadDTO;
+import com.karoldm.k_board_api.dto.payload.PhotoUploadIntentPayloadDTO;
 import com.karoldm.k_board_api.dto.response.ErrorResponseDTO;
+import com.karoldm.k_board_api.dto.response.PhotoUploadIntentResponseDTO;
 import com.karoldm.k_board_api.dto.response.UserResponseDTO;
 import com.karoldm.k_board_api.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -47,4 +50,28 @@ public class UserController {
         userService.updatePassword(editPasswordPayloadDTO);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/photo/upload-intent")
+    @Operation(
+            summary = "Start photo upload",
+            description = "Returns a short-lived URL to PUT the new photo to, with the given Content-Type header")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "upload URL created"),
+            @ApiResponse(responseCode = "400", description = "unsupported content type or size", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+    })
+    public ResponseEntity<PhotoUploadIntentResponseDTO> createPhotoUploadIntent(@RequestBody @Valid PhotoUploadIntentPayloadDTO photoUploadIntentPayloadDTO) {
+        return ResponseEntity.ok(userService.createPhotoUploadIntent(photoUploadIntentPayloadDTO));
+    }
+
+    @PutMapping("/photo")
+    @Operation(
+            summary = "Complete photo upload",
+            description = "Checks the uploaded photo and makes it the user's photo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "photo replaced"),
+            @ApiResponse(responseCode = "400", description = "photo missing, too large or of an unsupported type", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+    })
+    public ResponseEntity<UserResponseDTO> completePhotoUpload(@RequestBody @Valid CompletePhotoUploadPayloadDTO completePhotoUploadPayloadDTO) {
+        return ResponseEntity.ok(userService.completePhotoUpload(completePhotoUploadPayloadDTO));
+    }
 }
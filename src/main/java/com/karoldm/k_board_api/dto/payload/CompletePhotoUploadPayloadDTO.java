@@ -0,0 +1,9 @@
+package com.karoldm.k_board_api.dto.payload;
+
+import jakarta.validation.constraints.NotEmpty;
+
+public record CompletePhotoUploadPayloadDTO(
+        @NotEmpty(message = "key cannot be empty")
+        String key
+) {
+}
@@ -0,0 +1,14 @@
+package com.karoldm.k_board_api.dto.payload;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record PhotoUploadIntentPayloadDTO(
+        @NotEmpty(message = "contentType cannot be empty")
+        String contentType,
+        @NotNull(message = "size cannot be null")
+        @Positive(message = "size must be positive")
+        Long size
+) {
+}
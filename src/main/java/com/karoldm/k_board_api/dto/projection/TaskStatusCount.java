@@ -0,0 +1,6 @@
+package com.karoldm.k_board_api.dto.projection;
+
+public interface TaskStatusCount {
+    String getStatus();
+    long getTotal();
+}
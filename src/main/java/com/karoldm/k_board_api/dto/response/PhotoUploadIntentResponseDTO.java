@@ -0,0 +1,14 @@
+package com.karoldm.k_board_api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.OffsetDateTime;
+
+public record PhotoUploadIntentResponseDTO(
+        String key,
+        String uploadUrl,
+        String contentType,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX")
+        OffsetDateTime expiresAt
+) {
+}
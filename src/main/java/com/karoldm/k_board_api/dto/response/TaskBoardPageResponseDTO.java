@@ -0,0 +1,9 @@
+package com.karoldm.k_board_api.dto.response;
+
+public record TaskBoardPageResponseDTO(
+        TaskColumnResponseDTO pending,
+        TaskColumnResponseDTO doing,
+        TaskColumnResponseDTO completed,
+        long total
+) {
+}
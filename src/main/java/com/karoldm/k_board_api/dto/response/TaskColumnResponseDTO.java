@@ -0,0 +1,11 @@
+package com.karoldm.k_board_api.dto.response;
+
+import java.util.List;
+
+public record TaskColumnResponseDTO(
+        List<TaskResponseDTO> tasks,
+        // counted on the first page only, null on the pages a cursor asks for
+        Long total,
+        String nextCursor
+) {
+}
@@ -3,6 +3,7 @@ package com.karoldm.k_board_api.dto.response;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import java.time.OffsetDateTime;
+import java.util.Map;
 import java.util.UUID;
 
 public record UserResponseDTO(
@@ -10,6 +11,7 @@ public record UserResponseDTO(
         String name,
         String email,
         String photoUrl,
+        Map<Integer, String> photoThumbnailUrls,
         @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX")
         OffsetDateTime createdAt
     ) {
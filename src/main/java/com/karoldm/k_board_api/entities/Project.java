@@ -1,10 +1,13 @@
 package com.karoldm.k_board_api.entities;
 
 
+import com.karoldm.k_board_api.infra.persistence.TimeOrderedUuid;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.OffsetDateTime;
 import java.util.HashSet;
@@ -17,10 +20,11 @@ import java.util.UUID;
 @NoArgsConstructor
 @Entity(name="projects")
 @Builder
+@DynamicUpdate
 public class Project {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotEmpty(message = "title cannot be empty")
@@ -28,6 +32,20 @@ public class Project {
 
     private OffsetDateTime createdAt;
 
+    // maintained with atomic updates in ProjectRepository, never written from the entity
+    @ColumnDefault("0")
+    @Column(insertable = false, updatable = false)
+    private int totalTasks;
+
+    @ColumnDefault("0")
+    @Column(insertable = false, updatable = false)
+    private int completedTasks;
+
+    // not a JPA @Version, writes never conflict on it, it only tells readers the board changed
+    @ColumnDefault("0")
+    @Column(insertable = false, updatable = false)
+    private long version;
+
     @OneToMany(mappedBy = "project", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     @JsonBackReference
     private Set<Task> tasks = new HashSet<>();
@@ -0,0 +1,58 @@
+package com.karoldm.k_board_api.entities;
+
+import com.karoldm.k_board_api.enums.StorageOperation;
+import com.karoldm.k_board_api.infra.persistence.TimeOrderedUuid;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Object-storage work recorded in the same transaction as the change that needs it and
+ * carried out afterwards by the outbox worker, so no connection is held while S3 answers.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "storage_outbox")
+@Builder
+public class StorageOutboxEntry {
+
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private StorageOperation operation;
+
+    // target of UPLOAD_USER_PHOTO, deliberately not a foreign key so deleting the user never blocks on it
+    private UUID userId;
+
+    @Column(length = 1024)
+    private String stagedPath;
+
+    // node whose staging directory holds stagedPath, null for work any node can do
+    private String nodeId;
+
+    private String fileName;
+
+    private String contentType;
+
+    @Column(length = 1024)
+    private String objectUrl;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(length = 1024)
+    private String lastError;
+
+    @Column(nullable = false)
+    private OffsetDateTime createdAt;
+}
@@ -1,9 +1,12 @@
 package com.karoldm.k_board_api.entities;
 
+import com.karoldm.k_board_api.infra.persistence.TimeOrderedUuid;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.time.OffsetDateTime;
 import java.util.*;
@@ -17,7 +20,7 @@ import java.util.*;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotEmpty(message = "title cannot be empty")
@@ -35,6 +38,7 @@ public class Task {
     private String color;
 
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     private Set<String> tags = new HashSet<>();
 
     @ManyToOne(cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
@@ -48,6 +52,7 @@ public class Task {
     private User createdBy;
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     @JoinTable(
             name="task_atribuization",
             joinColumns = @JoinColumn(name="task_id"),
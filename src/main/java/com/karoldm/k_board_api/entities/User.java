@@ -1,5 +1,6 @@
 package com.karoldm.k_board_api.entities;
 
+import com.karoldm.k_board_api.infra.persistence.TimeOrderedUuid;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
@@ -7,6 +8,8 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,10 +23,12 @@ import java.util.*;
 @Setter
 @Entity(name="users")
 @Builder
+// the outbox worker swaps photoUrl concurrently with profile edits, updates must only write changed columns
+@DynamicUpdate
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedUuid
     @NotNull
     private UUID id;
 
@@ -41,6 +46,11 @@ public class User implements UserDetails {
     private String password;
 
     private String photoUrl;
+
+    // the sizes in PhotoThumbnails are stored for the current photoUrl
+    @ColumnDefault("false")
+    private boolean photoThumbnails;
+
     private OffsetDateTime createdAt;
 
     @OneToMany(mappedBy = "owner", fetch = FetchType.LAZY)
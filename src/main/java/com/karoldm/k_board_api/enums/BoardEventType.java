@@ -0,0 +1,9 @@
+package com.karoldm.k_board_api.enums;
+
+public enum BoardEventType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_DELETED,
+    PROJECT_UPDATED,
+    PROJECT_DELETED
+}
@@ -0,0 +1,7 @@
+package com.karoldm.k_board_api.enums;
+
+public enum ProjectSearchMode {
+    CONTAINS,
+    PREFIX,
+    RANKED
+}
@@ -0,0 +1,6 @@
+package com.karoldm.k_board_api.enums;
+
+public enum StorageOperation {
+    UPLOAD_USER_PHOTO,
+    DELETE_OBJECT
+}
@@ -0,0 +1,7 @@
+package com.karoldm.k_board_api.exceptions;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
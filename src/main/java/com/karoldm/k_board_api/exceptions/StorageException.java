@@ -0,0 +1,7 @@
+package com.karoldm.k_board_api.exceptions;
+
+public class StorageException extends RuntimeException {
+    public StorageException(String message) {
+        super(message);
+    }
+}
@@ -4,14 +4,19 @@ import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.karoldm.k_board_api.dto.response.ErrorResponseDTO;
 import com.karoldm.k_board_api.exceptions.AmazonS3Exception;
 import com.karoldm.k_board_api.exceptions.InvalidPasswordException;
+import com.karoldm.k_board_api.exceptions.PasswordHashingUnavailableException;
+import com.karoldm.k_board_api.exceptions.StorageException;
 import com.karoldm.k_board_api.exceptions.UserNotAuthenticated;
 import com.karoldm.k_board_api.exceptions.UserNotFoundException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -132,6 +137,15 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorObject, HttpStatus.BAD_GATEWAY);
     }
 
+    @ExceptionHandler(StorageException.class)
+    private ResponseEntity<ErrorResponseDTO> storageException(StorageException ex) {
+        ErrorResponseDTO errorObject = new ErrorResponseDTO(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorObject, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
     @ExceptionHandler(InvalidPasswordException.class)
     private ResponseEntity<ErrorResponseDTO> invalidPasswordException(InvalidPasswordException ex) {
         ErrorResponseDTO errorObject = new ErrorResponseDTO(
@@ -140,4 +154,26 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity<>(errorObject, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    private ResponseEntity<ErrorResponseDTO> passwordHashingUnavailableException(PasswordHashingUnavailableException ex) {
+        ErrorResponseDTO errorObject = new ErrorResponseDTO(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorObject);
+    }
+
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    private ResponseEntity<ErrorResponseDTO> databaseUnavailableException(Exception ex) {
+        ErrorResponseDTO errorObject = new ErrorResponseDTO(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "The database is busy, try again later."
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorObject);
+    }
 }
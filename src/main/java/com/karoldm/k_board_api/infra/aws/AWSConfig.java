@@ -3,14 +3,17 @@ package com.karoldm.k_board_api.infra.aws;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
-import com.amazonaws.regions.Regions;
+import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.karoldm.k_board_api.infra.storage.StorageBackend;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@ConditionalOnProperty(name = "api.storage.backend", havingValue = "s3", matchIfMissing = true)
 public class AWSConfig {
     @Value("${api.aws.access-key}")
     private String accessKey;
@@ -18,6 +21,19 @@ public class AWSConfig {
     @Value("${api.aws.secret-key}")
     private String secretKey;
 
+    @Value("${api.aws.bucket-name}")
+    private String bucketName;
+
+    @Value("${api.aws.bucket-url}")
+    private String bucketUrl;
+
+    @Value("${api.aws.region}")
+    private String region;
+
+    // S3-compatible stand-in such as MinIO or LocalStack, empty for AWS itself
+    @Value("${api.aws.endpoint}")
+    private String endpoint;
+
     public AWSCredentials credentials() {
         return new BasicAWSCredentials(
                 accessKey,
@@ -27,10 +43,21 @@ public class AWSConfig {
 
     @Bean
     public AmazonS3 amazonS3() {
-        return AmazonS3ClientBuilder
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder
                 .standard()
-                    .withCredentials(new AWSStaticCredentialsProvider(credentials()))
-                .withRegion(Regions.US_EAST_2)
+                    .withCredentials(new AWSStaticCredentialsProvider(credentials()));
+
+        if (endpoint.isBlank()) {
+            return builder.withRegion(region).build();
+        }
+        return builder
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region))
+                .withPathStyleAccessEnabled(true)
                 .build();
     }
-}
\ No newline at end of file
+
+    @Bean
+    public StorageBackend s3StorageBackend(AmazonS3 amazonS3) {
+        return new S3StorageBackend(amazonS3, bucketName, bucketUrl);
+    }
+}
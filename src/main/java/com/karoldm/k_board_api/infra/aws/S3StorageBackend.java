@@ -0,0 +1,171 @@
+package com.karoldm.k_board_api.infra.aws;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.karoldm.k_board_api.exceptions.AmazonS3Exception;
+import com.karoldm.k_board_api.infra.storage.StorageBackend;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Slf4j
+public class S3StorageBackend implements StorageBackend {
+    private static final int MAX_KEYS_PER_REQUEST = 1000;
+
+    private final AmazonS3 amazonS3Client;
+    private final String bucketName;
+    private final String bucketUrl;
+
+    public S3StorageBackend(AmazonS3 amazonS3Client, String bucketName, String bucketUrl) {
+        this.amazonS3Client = amazonS3Client;
+        this.bucketName = bucketName;
+        this.bucketUrl = bucketUrl;
+    }
+
+    @Override
+    public String baseUrl() {
+        return bucketUrl;
+    }
+
+    @Override
+    public void put(String key, Path file, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(file.toFile().length());
+        metadata.setContentType(contentType);
+
+        try {
+            // from a file the client can replay the body when it retries
+            amazonS3Client.putObject(new PutObjectRequest(bucketName, key, file.toFile()).withMetadata(metadata));
+        } catch (Exception ex) {
+            throw new AmazonS3Exception("Error uploading file: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size, String contentType, String cacheControl) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(size);
+        metadata.setContentType(contentType);
+        if (cacheControl != null) {
+            metadata.setCacheControl(cacheControl);
+        }
+
+        try {
+            amazonS3Client.putObject(new PutObjectRequest(bucketName, key, content, metadata));
+        } catch (Exception ex) {
+            throw new AmazonS3Exception("Error uploading file: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public InputStream open(String key) {
+        try {
+            return amazonS3Client.getObject(bucketName, key).getObjectContent();
+        } catch (Exception ex) {
+            throw new AmazonS3Exception("Error reading file: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) {
+        try {
+            ObjectMetadata metadata = amazonS3Client.getObjectMetadata(bucketName, key);
+            Instant lastModified = metadata.getLastModified() == null ? null : metadata.getLastModified().toInstant();
+            return Optional.of(new StoredObject(key, metadata.getContentLength(), metadata.getContentType(), lastModified));
+        } catch (AmazonServiceException ex) {
+            if (ex.getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            throw new AmazonS3Exception("Error reading file metadata: " + ex.getMessage());
+        } catch (Exception ex) {
+            throw new AmazonS3Exception("Error reading file metadata: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            // S3 deletes are idempotent, removing a missing key succeeds as well
+            amazonS3Client.deleteObject(bucketName, key);
+        } catch (Exception ex) {
+            throw new AmazonS3Exception("Error deleting file: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public int deleteAll(List<String> keys) {
+        int removed = 0;
+
+        for (int from = 0; from < keys.size(); from += MAX_KEYS_PER_REQUEST) {
+            List<DeleteObjectsRequest.KeyVersion> batch = keys.subList(from, Math.min(from + MAX_KEYS_PER_REQUEST, keys.size()))
+                    .stream()
+                    .map(DeleteObjectsRequest.KeyVersion::new)
+                    .toList();
+            try {
+                amazonS3Client.deleteObjects(new DeleteObjectsRequest(bucketName).withKeys(batch).withQuiet(true));
+                removed += batch.size();
+            } catch (MultiObjectDeleteException ex) {
+                removed += batch.size() - ex.getErrors().size();
+                MultiObjectDeleteException.DeleteError first = ex.getErrors().get(0);
+                log.warn("Could not delete {} of {} files, first failure {}: {}", ex.getErrors().size(), batch.size(),
+                        first.getKey(), first.getMessage());
+            } catch (Exception ex) {
+                throw new AmazonS3Exception("Error deleting files: " + ex.getMessage());
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public void list(Consumer<List<StoredObject>> pageConsumer) {
+        ListObjectsV2Request request = new ListObjectsV2Request()
+                .withBucketName(bucketName)
+                .withMaxKeys(MAX_KEYS_PER_REQUEST);
+        ListObjectsV2Result result;
+
+        do {
+            try {
+                result = amazonS3Client.listObjectsV2(request);
+            } catch (Exception ex) {
+                throw new AmazonS3Exception("Error listing files: " + ex.getMessage());
+            }
+            pageConsumer.accept(result.getObjectSummaries().stream()
+                    .map(summary -> new StoredObject(summary.getKey(), summary.getSize(), null,
+                            summary.getLastModified().toInstant()))
+                    .toList());
+            request.setContinuationToken(result.getNextContinuationToken());
+        } while (result.isTruncated());
+    }
+
+    /** The content type is part of the signature, the size is not and must be checked afterwards. */
+    @Override
+    public PresignedUpload presignUpload(String key, String contentType, Duration validity) {
+        Date expiration = Date.from(Instant.now().plus(validity));
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, key, HttpMethod.PUT)
+                .withExpiration(expiration)
+                .withContentType(contentType);
+
+        try {
+            URL url = amazonS3Client.generatePresignedUrl(request);
+            return new PresignedUpload(url.toString(), expiration.toInstant());
+        } catch (Exception ex) {
+            throw new AmazonS3Exception("Error presigning upload: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.karoldm.k_board_api.infra.observability;
+
+import lombok.Getter;
+
+/**
+ * Statements executed and time spent in JDBC by the current request thread.
+ * Recording is a no-op outside a request, e.g. in scheduled jobs.
+ */
+@Getter
+public class RequestSqlStatistics {
+    private static final ThreadLocal<RequestSqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+
+    private RequestSqlStatistics(){}
+
+    public static RequestSqlStatistics begin() {
+        RequestSqlStatistics statistics = new RequestSqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static void record(long elapsedNanos) {
+        RequestSqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+            statistics.nanos += elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.karoldm.k_board_api.infra.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlObservabilityConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourcePostProcessor(
+            @Value("${api.sql.slow-query-threshold-ms}") long slowQueryThresholdMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(new SqlStatisticsListener(slowQueryThresholdMillis))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${api.sql.query-count-header}") boolean queryCountHeader) {
+        FilterRegistrationBean<SqlStatisticsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatisticsFilter(meterRegistry, queryCountHeader));
+        // outside the security chain, so the session user lookup is counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,87 @@
+package com.karoldm.k_board_api.infra.observability;
+
+import com.karoldm.k_board_api.controllers.LocalFileController;
+import com.karoldm.k_board_api.infra.persistence.OpenEntityManagerInViewConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the SQL statements and database time of each request per controller method, and
+ * optionally reports the statement count in the {@value #QUERY_COUNT_HEADER} response header.
+ */
+@RequiredArgsConstructor
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final MeterRegistry meterRegistry;
+    private final boolean queryCountHeader;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestSqlStatistics statistics = RequestSqlStatistics.begin();
+        // the body is buffered so the header can still be set after lazy loads during serialization
+        ContentCachingResponseWrapper bufferedResponse = queryCountHeader && !isEventStream(request) && !isFileDownload(request)
+                ? new ContentCachingResponseWrapper(response)
+                : null;
+
+        try {
+            filterChain.doFilter(request, bufferedResponse != null ? bufferedResponse : response);
+        } finally {
+            RequestSqlStatistics.end();
+            record(handlerName(request), statistics);
+
+            if (bufferedResponse != null) {
+                bufferedResponse.setHeader(QUERY_COUNT_HEADER, String.valueOf(statistics.getStatements()));
+                bufferedResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(String handler, RequestSqlStatistics statistics) {
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements executed per request")
+                .tag("handler", handler)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time spent executing SQL per request")
+                .tag("handler", handler)
+                .register(meterRegistry)
+                .record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private String handlerName(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return "none";
+    }
+
+    // file bodies are handed to the connector to send, there is nothing to buffer
+    private boolean isFileDownload(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + LocalFileController.PATH + "/");
+    }
+
+    // matched by path, a stream stays open for minutes whatever the client sends in Accept
+    private boolean isEventStream(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return PATH_MATCHER.match(OpenEntityManagerInViewConfig.EVENT_STREAM_PATHS, path);
+    }
+}
@@ -0,0 +1,47 @@
+package com.karoldm.k_board_api.infra.observability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatisticsListener implements QueryExecutionListener {
+    private static final String START_NANOS = "sqlStatistics.startNanos";
+    private static final Pattern LITERAL = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+
+    private final long slowQueryThresholdMillis;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedNanos = System.nanoTime() - execInfo.getCustomValue(START_NANOS, Long.class);
+        RequestSqlStatistics.record(elapsedNanos);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (elapsedMillis >= slowQueryThresholdMillis) {
+            // only the statement text is logged; bind values never reach the log
+            String sql = queryInfoList.stream()
+                    .map(query -> redact(query.getQuery()))
+                    .collect(Collectors.joining("; "));
+
+            log.warn("Slow SQL took {} ms{}: {}", elapsedMillis,
+                    execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "", sql);
+        }
+    }
+
+    static String redact(String sql) {
+        return LITERAL.matcher(sql).replaceAll("?");
+    }
+}
@@ -0,0 +1,18 @@
+package com.karoldm.k_board_api.infra.observability;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfig {
+
+    // any SpanExporter bean is picked up by the OpenTelemetry tracer; this one writes finished spans to the log
+    @Bean
+    @ConditionalOnProperty(name = "api.tracing.log-exporter", havingValue = "true")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
@@ -0,0 +1,75 @@
+package com.karoldm.k_board_api.infra.persistence;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Only needed with virtual threads: on platform threads the Tomcat pool already bounds
+ * how many requests can wait for a connection.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Import(ConnectionBulkheadConfig.Beans.class)
+public class ConnectionBulkheadConfig {
+
+    // not a @Configuration of its own, so scanning never registers it without the condition above
+    static class Beans {
+
+        /**
+         * Ordered, so it runs before the unordered SQL statistics post-processor: the query proxy
+         * ends up outermost and the bulkhead sits between it and the pool. The declared type must
+         * show the order, post-processors are sorted before they are instantiated.
+         */
+        @Bean
+        public static BulkheadPostProcessor connectionBulkheadDataSourcePostProcessor(
+                @Value("${spring.datasource.hikari.maximum-pool-size}") int maxConnections,
+                @Value("${api.datasource.bulkhead.max-waiting}") int maxWaiting,
+                @Value("${api.datasource.bulkhead.wait-timeout-ms}") long waitTimeoutMillis) {
+            return new BulkheadPostProcessor(maxConnections, maxWaiting, Duration.ofMillis(waitTimeoutMillis));
+        }
+
+        @Bean
+        public MeterBinder connectionBulkheadMetrics(DataSource dataSource) throws SQLException {
+            ConnectionBulkheadDataSource bulkhead = dataSource.unwrap(ConnectionBulkheadDataSource.class);
+
+            return registry -> {
+                Gauge.builder("jdbc.connections.bulkhead.waiting", bulkhead, ConnectionBulkheadDataSource::getWaiting)
+                        .register(registry);
+                Gauge.builder("jdbc.connections.bulkhead.available", bulkhead, ConnectionBulkheadDataSource::getAvailable)
+                        .register(registry);
+                FunctionCounter.builder("jdbc.connections.bulkhead.rejected", bulkhead, ConnectionBulkheadDataSource::getRejected)
+                        .register(registry);
+            };
+        }
+    }
+
+    record BulkheadPostProcessor(int maxConnections, int maxWaiting, Duration waitTimeout)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionBulkheadDataSource)) {
+                return new ConnectionBulkheadDataSource(dataSource, maxConnections, maxWaiting, waitTimeout);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
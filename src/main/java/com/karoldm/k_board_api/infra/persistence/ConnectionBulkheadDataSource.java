@@ -0,0 +1,108 @@
+package com.karoldm.k_board_api.infra.persistence;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets at most {@code maxConnections} threads hold a connection and at most {@code maxWaiting}
+ * wait for one. With virtual threads the number of concurrent requests is no longer bounded by
+ * the Tomcat pool, so without this every blocked request would queue inside the pool until its
+ * connection timeout. Extra waiters are rejected at once and the others give up after {@code waitTimeout}.
+ */
+public class ConnectionBulkheadDataSource extends DelegatingDataSource {
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final long waitTimeoutNanos;
+    private final LongAdder rejected = new LongAdder();
+
+    public ConnectionBulkheadDataSource(DataSource target, int maxConnections, int maxWaiting, Duration waitTimeout) {
+        super(target);
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxWaiting = maxWaiting;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public int getAvailable() {
+        return permits.availablePermits();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (permits.getQueueLength() >= maxWaiting) {
+            rejected.increment();
+            throw new SQLTransientConnectionException("Too many requests waiting for a database connection");
+        }
+
+        try {
+            if (!permits.tryAcquire(waitTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new SQLTransientConnectionException("Timed out waiting for a database connection");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", ex);
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    } finally {
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,30 @@
+package com.karoldm.k_board_api.infra.persistence;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Replaces Spring Boot's open-in-view registration to leave out event streams. The request's
+ * EntityManager keeps its connection until the request ends, which for a stream open for
+ * minutes would take a pooled connection per subscriber.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.open-in-view", havingValue = "true", matchIfMissing = true)
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+    public static final String EVENT_STREAM_PATHS = "/task/*/events";
+
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+                .excludePathPatterns(EVENT_STREAM_PATHS);
+    }
+}
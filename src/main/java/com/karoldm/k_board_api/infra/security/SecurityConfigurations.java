@@ -39,6 +39,12 @@ public class SecurityConfigurations {
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers(HttpMethod.POST, "/auth/login", "/auth/register").permitAll()
                         .requestMatchers("/error", "/swagger-ui/*",  "/v3/api-docs", "/v3/api-docs/*").permitAll()
+                        // in prod actuator only listens on the internal management port
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+                        // files of the local storage backend are public like bucket objects, uploads carry a signature
+                        .requestMatchers(HttpMethod.GET, "/files/**").permitAll()
+                        .requestMatchers(HttpMethod.HEAD, "/files/**").permitAll()
+                        .requestMatchers(HttpMethod.PUT, "/files/**").permitAll()
                         .anyRequest().authenticated() // Authenticated for all other endpoints
                 )
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class);
@@ -5,8 +5,6 @@ import com.auth0.jwt.exceptions.JWTDecodeException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.karoldm.k_board_api.dto.response.ErrorResponseDTO;
-import com.karoldm.k_board_api.repositories.UserRepository;
-import com.karoldm.k_board_api.services.TokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,19 +13,19 @@ import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @AllArgsConstructor
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
 
     private final ObjectMapper objectMapper;
-    private final TokenService tokenService;
-    private final UserRepository userRepository;
+    private final TokenVerificationCache tokenVerificationCache;
+    private final SessionUserCache sessionUserCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -43,11 +41,12 @@ public class SecurityFilter extends OncePerRequestFilter {
                 return;
             }
 
-            var email = tokenService.validateToken(token);
-            UserDetails user = userRepository.findByEmail(email);
+            var email = tokenVerificationCache.validateToken(token);
+            Optional<SessionPrincipal> principal = sessionUserCache.get(email);
 
-            if(user != null){
-                var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+            if(principal.isPresent()){
+                var authentication = new UsernamePasswordAuthenticationToken(
+                        principal.get(), null, principal.get().authorities());
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
 
@@ -72,6 +71,9 @@ public class SecurityFilter extends OncePerRequestFilter {
         return uri.equals("/auth/login") ||
                 uri.equals("/auth/register") ||
                 uri.startsWith("/swagger-ui") ||
+                uri.equals("/actuator/health") ||
+                uri.equals("/actuator/prometheus") ||
+                uri.startsWith("/files/") ||
                 uri.startsWith("/v3/api-docs");
     }
 
@@ -0,0 +1,19 @@
+package com.karoldm.k_board_api.infra.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public record SessionPrincipal(
+        UUID id,
+        String email,
+        Collection<? extends GrantedAuthority> authorities
+) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
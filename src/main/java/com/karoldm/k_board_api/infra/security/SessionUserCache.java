@@ -0,0 +1,57 @@
+package com.karoldm.k_board_api.infra.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.repositories.UserRepository;
+import com.karoldm.k_board_api.utils.CallerLoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the identity of recently authenticated users so that a valid token does not cost a
+ * {@code findByEmail} round trip on every request. Entries must be evicted whenever the
+ * user's data changes.
+ */
+@Component
+public class SessionUserCache {
+    private final UserRepository userRepository;
+    private final AsyncCache<String, SessionPrincipal> cache;
+
+    public SessionUserCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${api.security.session-cache.max-size}") long maxSize,
+            @Value("${api.security.session-cache.ttl-seconds}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "session.user");
+    }
+
+    public Optional<SessionPrincipal> get(String email) {
+        return Optional.ofNullable(CallerLoadingCache.get(cache, email, this::load));
+    }
+
+    public void evict(String email) {
+        cache.synchronous().invalidate(email);
+    }
+
+    private SessionPrincipal load(String email) {
+        User user = userRepository.findByEmail(email);
+        if (user == null) {
+            return null;
+        }
+        return new SessionPrincipal(user.getId(), user.getEmail(), List.copyOf(user.getAuthorities()));
+    }
+}
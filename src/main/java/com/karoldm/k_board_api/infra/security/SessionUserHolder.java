@@ -0,0 +1,15 @@
+package com.karoldm.k_board_api.infra.security;
+
+import com.karoldm.k_board_api.entities.User;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+@Getter
+@Setter
+@Component
+@RequestScope
+public class SessionUserHolder {
+    private User user;
+}
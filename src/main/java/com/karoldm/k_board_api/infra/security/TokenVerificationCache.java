@@ -0,0 +1,142 @@
+package com.karoldm.k_board_api.infra.security;
+
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.karoldm.k_board_api.services.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Remembers the outcome of verifying a bearer token, keyed by its SHA-256 hash, so a token is
+ * verified once per cache lifetime instead of on every request. Valid tokens are kept until
+ * they expire (capped by the max ttl), rejected ones only for a short negative ttl and in a
+ * small cache of their own, so a flood of unique bad tokens never evicts valid ones.
+ */
+@Component
+public class TokenVerificationCache {
+    private final TokenService tokenService;
+    private final Cache<String, VerifiedToken> cache;
+    private final Cache<String, RejectedToken> rejectedCache;
+    private final Duration maxTtl;
+    private final Duration negativeTtl;
+
+    public TokenVerificationCache(
+            TokenService tokenService,
+            MeterRegistry meterRegistry,
+            @Value("${api.security.token-cache.max-size}") long maxSize,
+            @Value("${api.security.token-cache.negative-max-size}") long negativeMaxSize,
+            @Value("${api.security.token-cache.max-ttl-seconds}") long maxTtlSeconds,
+            @Value("${api.security.token-cache.negative-ttl-seconds}") long negativeTtlSeconds) {
+        this.tokenService = tokenService;
+        this.maxTtl = Duration.ofSeconds(maxTtlSeconds);
+        this.negativeTtl = Duration.ofSeconds(negativeTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new VerificationExpiry<VerifiedToken>())
+                .recordStats()
+                .build();
+        this.rejectedCache = Caffeine.newBuilder()
+                .maximumSize(negativeMaxSize)
+                .expireAfter(new VerificationExpiry<RejectedToken>())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "token.verification");
+        CaffeineCacheMetrics.monitor(meterRegistry, rejectedCache, "token.verification.rejected");
+    }
+
+    @Observed(name = "kboard.token.verification", contextualName = "token verification")
+    public String validateToken(String token) {
+        String key = hash(token);
+        TokenVerification verification = cache.getIfPresent(key);
+        if (verification == null) {
+            verification = rejectedCache.getIfPresent(key);
+        }
+        if (verification == null) {
+            verification = verify(token);
+            if (verification instanceof VerifiedToken verified) {
+                cache.put(key, verified);
+            } else {
+                rejectedCache.put(key, (RejectedToken) verification);
+            }
+        }
+
+        if (verification instanceof RejectedToken rejected) {
+            throw rejected.malformed()
+                    ? new JWTDecodeException(rejected.message())
+                    : new JWTVerificationException(rejected.message());
+        }
+
+        return ((VerifiedToken) verification).subject();
+    }
+
+    private TokenVerification verify(String token) {
+        Instant now = Instant.now();
+
+        try {
+            DecodedJWT decodedToken = tokenService.verifyToken(token);
+            Instant maxExpiration = now.plus(maxTtl);
+            Instant expiresAt = decodedToken.getExpiresAtAsInstant();
+
+            if (expiresAt == null || expiresAt.isAfter(maxExpiration)) {
+                expiresAt = maxExpiration;
+            }
+
+            return new VerifiedToken(decodedToken.getSubject(), expiresAt);
+        } catch (JWTDecodeException ex) {
+            return new RejectedToken(ex.getMessage(), true, now.plus(negativeTtl));
+        } catch (JWTVerificationException ex) {
+            return new RejectedToken(ex.getMessage(), false, now.plus(negativeTtl));
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private sealed interface TokenVerification permits VerifiedToken, RejectedToken {
+        Instant expiresAt();
+    }
+
+    private record VerifiedToken(String subject, Instant expiresAt) implements TokenVerification {
+    }
+
+    private record RejectedToken(String message, boolean malformed, Instant expiresAt) implements TokenVerification {
+    }
+
+    private static class VerificationExpiry<T extends TokenVerification> implements Expiry<String, T> {
+        @Override
+        public long expireAfterCreate(String key, T value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, T value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, T value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
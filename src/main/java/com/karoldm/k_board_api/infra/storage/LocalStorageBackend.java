@@ -0,0 +1,229 @@
+package com.karoldm.k_board_api.infra.storage;
+
+import com.karoldm.k_board_api.exceptions.StorageException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Keeps files in a directory of this node, for single-node deployments and performance tests
+ * without S3. {@link com.karoldm.k_board_api.controllers.LocalFileController} serves them and
+ * accepts the presigned uploads, which are signed with an HMAC of key, content type and expiry.
+ * Writes land in {@value #INCOMING_DIRECTORY} first and are moved into place atomically, so a
+ * reader never sees a partial file. Content types follow from the key's extension.
+ */
+@Slf4j
+public class LocalStorageBackend implements StorageBackend {
+    private static final String INCOMING_DIRECTORY = ".incoming";
+    private static final int PAGE_SIZE = 1000;
+    private static final String SIGNATURE_ALGORITHM = "HmacSHA256";
+
+    private final Path root;
+    private final Path incoming;
+    private final String baseUrl;
+    private final SecretKeySpec signingKey;
+
+    public LocalStorageBackend(Path root, String baseUrl, String signingSecret) {
+        this.root = root.toAbsolutePath().normalize();
+        this.incoming = this.root.resolve(INCOMING_DIRECTORY);
+        this.baseUrl = baseUrl;
+        this.signingKey = new SecretKeySpec(signingSecret.getBytes(StandardCharsets.UTF_8), SIGNATURE_ALGORITHM);
+
+        try {
+            Files.createDirectories(incoming);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void put(String key, Path file, String contentType) {
+        try (InputStream content = Files.newInputStream(file)) {
+            store(key, content);
+        } catch (IOException ex) {
+            throw new StorageException("Error storing file: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size, String contentType, String cacheControl) {
+        try {
+            store(key, content);
+        } catch (IOException ex) {
+            throw new StorageException("Error storing file: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public InputStream open(String key) {
+        try {
+            return Files.newInputStream(resolve(key));
+        } catch (IOException ex) {
+            throw new StorageException("Error reading file: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(resolve(key), BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return Optional.empty();
+            }
+            return Optional.of(new StoredObject(key, attributes.size(), contentTypeOf(key),
+                    attributes.lastModifiedTime().toInstant()));
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        } catch (IOException ex) {
+            throw new StorageException("Error reading file metadata: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException ex) {
+            throw new StorageException("Error deleting file: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public int deleteAll(List<String> keys) {
+        int removed = 0;
+
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(resolve(key));
+                removed++;
+            } catch (IOException | IllegalArgumentException ex) {
+                log.warn("Could not delete {}: {}", key, ex.getMessage());
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public void list(Consumer<List<StoredObject>> pageConsumer) {
+        List<StoredObject> page = new ArrayList<>(PAGE_SIZE);
+
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(path -> !path.startsWith(incoming)).sorted()::iterator) {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                if (!attributes.isRegularFile()) continue;
+
+                String key = root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+                page.add(new StoredObject(key, attributes.size(), contentTypeOf(key), attributes.lastModifiedTime().toInstant()));
+                if (page.size() == PAGE_SIZE) {
+                    pageConsumer.accept(List.copyOf(page));
+                    page.clear();
+                }
+            }
+        } catch (IOException ex) {
+            throw new StorageException("Error listing files: " + ex.getMessage());
+        }
+
+        if (!page.isEmpty()) {
+            pageConsumer.accept(List.copyOf(page));
+        }
+    }
+
+    @Override
+    public PresignedUpload presignUpload(String key, String contentType, Duration validity) {
+        resolve(key);
+        Instant expiresAt = Instant.now().plus(validity);
+        long expires = expiresAt.getEpochSecond();
+
+        String url = baseUrl + key + "?expires=" + expires + "&signature=" + sign(key, contentType, expires);
+        return new PresignedUpload(url, Instant.ofEpochSecond(expires));
+    }
+
+    /** Whether a presigned upload of {@code key} with this content type is genuine and still valid. */
+    public boolean verifyUpload(String key, String contentType, long expires, String signature) {
+        if (contentType == null || signature == null || Instant.now().getEpochSecond() > expires) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                sign(key, contentType, expires).getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * The file behind {@code key}. Keys are relative paths without empty, dot or hidden
+     * segments, anything else is refused with an {@link IllegalArgumentException}.
+     */
+    public Path resolve(String key) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Empty key");
+        }
+        for (String segment : key.split("/", -1)) {
+            if (segment.isEmpty() || segment.startsWith(".") || segment.contains("\\")) {
+                throw new IllegalArgumentException("Invalid key " + key);
+            }
+        }
+
+        Path file = root.resolve(key).normalize();
+        if (!file.startsWith(root) || file.equals(root)) {
+            throw new IllegalArgumentException("Invalid key " + key);
+        }
+        return file;
+    }
+
+    public String contentTypeOf(String key) {
+        return MediaTypeFactory.getMediaType(key)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
+    }
+
+    private void store(String key, InputStream content) throws IOException {
+        Path target = resolve(key);
+        Path staged = incoming.resolve(UUID.randomUUID().toString());
+
+        try {
+            Files.copy(content, staged);
+            Files.createDirectories(target.getParent());
+            Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    private String sign(String key, String contentType, long expires) {
+        try {
+            Mac mac = Mac.getInstance(SIGNATURE_ALGORITHM);
+            mac.init(signingKey);
+            byte[] signature = mac.doFinal(("PUT\n" + key + "\n" + contentType + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
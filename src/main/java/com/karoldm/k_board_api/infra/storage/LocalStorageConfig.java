@@ -0,0 +1,21 @@
+package com.karoldm.k_board_api.infra.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(name = "api.storage.backend", havingValue = "local")
+public class LocalStorageConfig {
+
+    @Bean
+    public LocalStorageBackend localStorageBackend(
+            @Value("${api.storage.local.root}") Path root,
+            @Value("${api.storage.local.public-url}") String publicUrl,
+            @Value("${api.storage.local.signing-secret}") String signingSecret) {
+        return new LocalStorageBackend(root, publicUrl, signingSecret);
+    }
+}
@@ -0,0 +1,45 @@
+package com.karoldm.k_board_api.infra.storage;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Where stored files live, addressed by key. {@code api.storage.backend} picks the
+ * implementation: {@code s3} (the default) or {@code local} for a directory on this node.
+ * Public URLs are {@link #baseUrl()} followed by the key.
+ */
+public interface StorageBackend {
+
+    record StoredObject(String key, long size, String contentType, Instant lastModified) {
+    }
+
+    record PresignedUpload(String url, Instant expiresAt) {
+    }
+
+    String baseUrl();
+
+    void put(String key, Path file, String contentType);
+
+    void put(String key, InputStream content, long size, String contentType, String cacheControl);
+
+    InputStream open(String key);
+
+    Optional<StoredObject> stat(String key);
+
+    /** Deleting a missing key succeeds. */
+    void delete(String key);
+
+    /** Returns how many of the keys were deleted, keys that could not be are logged and skipped. */
+    int deleteAll(List<String> keys);
+
+    /** Hands every stored object to {@code pageConsumer}, a page of at most 1000 at a time. */
+    void list(Consumer<List<StoredObject>> pageConsumer);
+
+    /** A URL the client can PUT {@code key} to with the given Content-Type until it expires. */
+    PresignedUpload presignUpload(String key, String contentType, Duration validity);
+}
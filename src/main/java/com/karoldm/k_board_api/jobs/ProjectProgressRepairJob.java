@@ -0,0 +1,54 @@
+package com.karoldm.k_board_api.jobs;
+
+import com.karoldm.k_board_api.repositories.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recomputes the stored task counters of every project in id-ordered batches,
+ * fixing any drift left by concurrent edits or rows written outside the API.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectProgressRepairJob {
+    private final ProjectRepository projectRepository;
+
+    @Value("${api.projects.progress-repair.batch-size}")
+    private int batchSize;
+
+    @Scheduled(
+            initialDelayString = "${api.projects.progress-repair.initial-delay}",
+            fixedDelayString = "${api.projects.progress-repair.interval}"
+    )
+    public void run() {
+        int repaired = repair();
+
+        if (repaired > 0) {
+            log.info("Repaired task counters of {} projects", repaired);
+        }
+    }
+
+    public int repair() {
+        UUID after = new UUID(0, 0);
+        int repaired = 0;
+        List<UUID> projectIds;
+
+        do {
+            projectIds = projectRepository.findIdsAfter(after, Limit.of(batchSize));
+            if (projectIds.isEmpty()) break;
+
+            repaired += projectRepository.recalculateTaskCounters(projectIds);
+            after = projectIds.get(projectIds.size() - 1);
+        } while (projectIds.size() == batchSize);
+
+        return repaired;
+    }
+}
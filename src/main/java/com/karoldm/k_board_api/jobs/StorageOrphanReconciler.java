@@ -0,0 +1,78 @@
+package com.karoldm.k_board_api.jobs;
+
+import com.karoldm.k_board_api.repositories.UserRepository;
+import com.karoldm.k_board_api.services.FileStorageService;
+import com.karoldm.k_board_api.utils.PhotoThumbnails;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Removes stored files that no user points to any more, left behind by deletions that gave up
+ * or by writes that never reached the database. Files younger than the minimum age are kept,
+ * an upload finishing right now has not swapped its URL into the user row yet. Files are
+ * matched to users by key, not by URL, and nothing is removed when users have photos but
+ * none of them matched a stored file: that is a misconfiguration, not a bucket of orphans.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StorageOrphanReconciler {
+    private final FileStorageService storageService;
+    private final UserRepository userRepository;
+
+    @Value("${api.storage.orphan-cleanup.min-age}")
+    private Duration minAge;
+
+    @Scheduled(
+            initialDelayString = "${api.storage.orphan-cleanup.initial-delay}",
+            fixedDelayString = "${api.storage.orphan-cleanup.interval}"
+    )
+    public void run() {
+        int removed = reconcile();
+
+        if (removed > 0) {
+            log.info("Removed {} orphaned files from storage", removed);
+        }
+    }
+
+    public int reconcile() {
+        Instant cutoff = Instant.now().minus(minAge);
+        List<String> orphans = new ArrayList<>();
+        AtomicInteger referencedPhotos = new AtomicInteger();
+
+        storageService.listFiles(page -> {
+            // a thumbnail lives as long as the photo it was rendered from
+            Set<String> referenced = userRepository.findReferencedPhotoKeys(page.stream()
+                    .map(file -> PhotoThumbnails.sourceOf(file.key()))
+                    .distinct()
+                    .toArray(String[]::new));
+            referencedPhotos.addAndGet(referenced.size());
+
+            page.stream()
+                    .filter(file -> file.lastModified().isBefore(cutoff))
+                    .filter(file -> !referenced.contains(PhotoThumbnails.sourceOf(file.key())))
+                    .forEach(file -> orphans.add(file.url()));
+        });
+
+        if (orphans.isEmpty()) {
+            return 0;
+        }
+        if (referencedPhotos.get() == 0 && userRepository.countWithPhoto() > 0) {
+            log.error("No stored file matches a user photo, skipping the removal of {} files."
+                    + " Check the storage base URL and the photo URLs in the database", orphans.size());
+            return 0;
+        }
+
+        return storageService.removeFilesByUrl(orphans);
+    }
+}
@@ -0,0 +1,110 @@
+package com.karoldm.k_board_api.jobs;
+
+import com.karoldm.k_board_api.entities.StorageOutboxEntry;
+import com.karoldm.k_board_api.utils.PhotoThumbnails;
+import com.karoldm.k_board_api.services.FileStorageService;
+import com.karoldm.k_board_api.services.PhotoThumbnailService;
+import com.karoldm.k_board_api.services.StorageOutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the storage outbox. Each entry is claimed and settled in its own short transaction
+ * while the S3 call in between runs without a database connection. Runs right after a commit
+ * that enqueued work and on a fixed delay to pick up retries and entries left by a crash.
+ */
+@Slf4j
+@Component
+public class StorageOutboxWorker {
+    private final StorageOutboxService outboxService;
+    private final FileStorageService storageService;
+    private final PhotoThumbnailService thumbnailService;
+    private final TaskExecutor taskExecutor;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+
+    @Value("${api.storage.outbox.batch-size}")
+    private int batchSize;
+
+    public StorageOutboxWorker(
+            StorageOutboxService outboxService,
+            FileStorageService storageService,
+            PhotoThumbnailService thumbnailService,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.outboxService = outboxService;
+        this.storageService = storageService;
+        this.thumbnailService = thumbnailService;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @TransactionalEventListener
+    public void onEntriesEnqueued(StorageOutboxService.EntriesEnqueued event) {
+        taskExecutor.execute(this::run);
+    }
+
+    @Scheduled(fixedDelayString = "${api.storage.outbox.poll-interval}")
+    public void run() {
+        wakeRequested.set(true);
+
+        // a wake-up that arrives while draining makes the running drain go round once more
+        while (wakeRequested.get() && draining.compareAndSet(false, true)) {
+            try {
+                wakeRequested.set(false);
+                drain();
+            } catch (RuntimeException ex) {
+                log.warn("Storage outbox drain failed", ex);
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    public int drain() {
+        int processed = 0;
+        List<StorageOutboxEntry> entries;
+
+        do {
+            entries = outboxService.claimDue(batchSize);
+            entries.forEach(this::process);
+            processed += entries.size();
+        } while (entries.size() == batchSize);
+
+        return processed;
+    }
+
+    private void process(StorageOutboxEntry entry) {
+        try {
+            switch (entry.getOperation()) {
+                case UPLOAD_USER_PHOTO -> {
+                    Path staged = Path.of(entry.getStagedPath());
+                    if (!Files.exists(staged)) {
+                        // superseded by a newer photo, or lost with the staging directory: kept for inspection
+                        throw new NoSuchFileException(staged.toString(), null, "staged photo is missing");
+                    }
+                    String photoUrl = storageService.uploadFile(staged, entry.getFileName(), entry.getContentType());
+                    // rendered from the staged copy while it is still on disk, a failure only costs the thumbnails
+                    boolean thumbnails = thumbnailService.generate(photoUrl, staged);
+                    outboxService.completePhotoUpload(entry, photoUrl, thumbnails);
+                    outboxService.deleteStagedFile(staged);
+                }
+                case DELETE_OBJECT -> {
+                    storageService.removeFilesByUrl(PhotoThumbnails.withThumbnails(entry.getObjectUrl()));
+                    outboxService.complete(entry);
+                }
+            }
+        } catch (Exception ex) {
+            outboxService.fail(entry, ex);
+        }
+    }
+}
@@ -23,7 +23,7 @@ public class ProjectMapper {
                 project.getCreatedAt(),
                 UserMapper.toUserResponseDTO(project.getOwner()),
                 userDTOs,
-                ProjectProgress.calculeProgress(project.getTasks())
+                ProjectProgress.calculeProgress(project.getCompletedTasks(), project.getTotalTasks())
         );
     }
 }
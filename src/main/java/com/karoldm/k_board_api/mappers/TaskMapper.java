@@ -4,6 +4,7 @@ import com.karoldm.k_board_api.dto.response.TaskResponseDTO;
 import com.karoldm.k_board_api.dto.response.UserResponseDTO;
 import com.karoldm.k_board_api.entities.Task;
 
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -22,7 +23,7 @@ public class TaskMapper {
                 task.getCreatedAt(),
                 task.getStatus(),
                 task.getColor(),
-                task.getTags(),
+                new HashSet<>(task.getTags()),
                 UserMapper.toUserResponseDTO(task.getCreatedBy()),
                 responsible
         );
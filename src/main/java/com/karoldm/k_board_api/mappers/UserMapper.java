@@ -2,6 +2,7 @@ package com.karoldm.k_board_api.mappers;
 
 import com.karoldm.k_board_api.dto.response.UserResponseDTO;
 import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.utils.PhotoThumbnails;
 
 public class UserMapper {
     private UserMapper(){}
@@ -12,6 +13,7 @@ public class UserMapper {
                 user.getName(),
                 user.getEmail(),
                 user.getPhotoUrl(),
+                PhotoThumbnails.urlsFor(user.getPhotoUrl(), user.isPhotoThumbnails()),
                 user.getCreatedAt()
         );
     }
@@ -2,14 +2,168 @@ package com.karoldm.k_board_api.repositories;
 
 import com.karoldm.k_board_api.entities.Project;
 import com.karoldm.k_board_api.entities.User;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ProjectRepository extends JpaRepository<Project, UUID> {
-    Page<Project> findByOwnerAndTitleContainingIgnoreCase(User owner, String filter, Pageable pageable);
+    @EntityGraph(attributePaths = "owner")
+    @Query("SELECT p FROM projects p WHERE p.owner = :owner AND lower(p.title) LIKE :pattern ESCAPE '\\'")
+    Slice<Project> searchOwnedProjects(
+            @Param("owner") User owner,
+            @Param("pattern") String pattern,
+            Pageable pageable
+    );
 
-    Page<Project> findByMembersContainsAndTitleContainingIgnoreCase(User member, String filter, Pageable pageable);
+    @Query("SELECT count(p) FROM projects p WHERE p.owner = :owner AND lower(p.title) LIKE :pattern ESCAPE '\\'")
+    long countOwnedProjects(@Param("owner") User owner, @Param("pattern") String pattern);
+
+    @EntityGraph(attributePaths = "owner")
+    @Query("SELECT p FROM projects p JOIN p.members m WHERE m = :member AND lower(p.title) LIKE :pattern ESCAPE '\\'")
+    Slice<Project> searchParticipatingProjects(
+            @Param("member") User member,
+            @Param("pattern") String pattern,
+            Pageable pageable
+    );
+
+    @Query("SELECT count(p) FROM projects p JOIN p.members m WHERE m = :member AND lower(p.title) LIKE :pattern ESCAPE '\\'")
+    long countParticipatingProjects(@Param("member") User member, @Param("pattern") String pattern);
+
+    @Query(value = """
+        SELECT p.id FROM projects p
+        WHERE p.owner_id = :userId
+        AND (lower(p.title) LIKE :pattern ESCAPE '\\' OR :query <% lower(p.title))
+        ORDER BY word_similarity(:query, lower(p.title)) DESC, p.created_at DESC, p.id
+    """, nativeQuery = true)
+    Slice<UUID> rankOwnedProjectIds(
+            @Param("userId") UUID userId,
+            @Param("query") String query,
+            @Param("pattern") String pattern,
+            Pageable pageable
+    );
+
+    @Query(value = """
+        SELECT count(*) FROM projects p
+        WHERE p.owner_id = :userId
+        AND (lower(p.title) LIKE :pattern ESCAPE '\\' OR :query <% lower(p.title))
+    """, nativeQuery = true)
+    long countRankedOwnedProjects(
+            @Param("userId") UUID userId,
+            @Param("query") String query,
+            @Param("pattern") String pattern
+    );
+
+    @Query(value = """
+        SELECT p.id FROM projects p
+        JOIN project_participation pp ON pp.project_id = p.id
+        WHERE pp.user_id = :userId
+        AND (lower(p.title) LIKE :pattern ESCAPE '\\' OR :query <% lower(p.title))
+        ORDER BY word_similarity(:query, lower(p.title)) DESC, p.created_at DESC, p.id
+    """, nativeQuery = true)
+    Slice<UUID> rankParticipatingProjectIds(
+            @Param("userId") UUID userId,
+            @Param("query") String query,
+            @Param("pattern") String pattern,
+            Pageable pageable
+    );
+
+    @Query(value = """
+        SELECT count(*) FROM projects p
+        JOIN project_participation pp ON pp.project_id = p.id
+        WHERE pp.user_id = :userId
+        AND (lower(p.title) LIKE :pattern ESCAPE '\\' OR :query <% lower(p.title))
+    """, nativeQuery = true)
+    long countRankedParticipatingProjects(
+            @Param("userId") UUID userId,
+            @Param("query") String query,
+            @Param("pattern") String pattern
+    );
+
+    @EntityGraph(attributePaths = "owner")
+    List<Project> findWithOwnerByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT DISTINCT p FROM projects p LEFT JOIN FETCH p.members WHERE p IN :projects")
+    List<Project> fetchMembers(@Param("projects") Collection<Project> projects);
+
+    @Query(value = """
+        SELECT CASE
+            WHEN p.owner_id = :userId THEN 'OWNER'
+            WHEN EXISTS (
+                SELECT 1 FROM project_participation pp
+                WHERE pp.project_id = p.id
+                AND pp.user_id = :userId
+            ) THEN 'MEMBER'
+            ELSE 'NONE'
+        END
+        FROM projects p
+        WHERE p.id = :projectId
+    """, nativeQuery = true)
+    Optional<String> findAccessLevel(
+            @Param("projectId") UUID projectId,
+            @Param("userId") UUID userId
+    );
+
+    @Modifying
+    @Query("""
+        UPDATE projects p
+        SET p.totalTasks = p.totalTasks + :total,
+            p.completedTasks = p.completedTasks + :completed,
+            p.version = p.version + 1
+        WHERE p.id = :projectId
+    """)
+    void adjustTaskCounters(
+            @Param("projectId") UUID projectId,
+            @Param("total") int total,
+            @Param("completed") int completed
+    );
+
+    @Modifying
+    @Query("UPDATE projects p SET p.version = p.version + 1 WHERE p.id = :projectId")
+    void bumpVersion(@Param("projectId") UUID projectId);
+
+    /** Bumps every project whose responses show the user: as owner, member, task creator or responsible. */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE projects SET version = version + 1
+        WHERE owner_id = :userId
+        OR id IN (SELECT pp.project_id FROM project_participation pp WHERE pp.user_id = :userId)
+        OR id IN (SELECT t.project_id FROM tasks t WHERE t.user_id = :userId)
+        OR id IN (
+            SELECT t.project_id FROM task_atribuization ta
+            JOIN tasks t ON t.id = ta.task_id
+            WHERE ta.user_id = :userId
+        )
+    """, nativeQuery = true)
+    int bumpVersionsShowingUser(@Param("userId") UUID userId);
+
+    @Query("SELECT p.version FROM projects p WHERE p.id = :projectId")
+    Optional<Long> findVersion(@Param("projectId") UUID projectId);
+
+    @Query("SELECT p.id FROM projects p WHERE p.id > :after ORDER BY p.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE projects p
+        SET p.totalTasks = (SELECT COUNT(t) FROM tasks t WHERE t.project = p),
+            p.completedTasks = (SELECT COUNT(t) FROM tasks t WHERE t.project = p AND t.status = 'COMPLETED'),
+            p.version = p.version + 1
+        WHERE p.id IN :projectIds
+        AND (p.totalTasks <> (SELECT COUNT(t) FROM tasks t WHERE t.project = p)
+            OR p.completedTasks <> (SELECT COUNT(t) FROM tasks t WHERE t.project = p AND t.status = 'COMPLETED'))
+    """)
+    int recalculateTaskCounters(@Param("projectIds") Collection<UUID> projectIds);
 }
@@ -0,0 +1,50 @@
+package com.karoldm.k_board_api.repositories;
+
+import com.karoldm.k_board_api.entities.StorageOutboxEntry;
+import com.karoldm.k_board_api.enums.StorageOperation;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface StorageOutboxRepository extends JpaRepository<StorageOutboxEntry, UUID> {
+    // a lock timeout of -2 is SKIP LOCKED, so concurrent workers never wait on each other's rows;
+    // uploads are only claimed by the node that staged them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+        SELECT e FROM storage_outbox e
+        WHERE e.nextAttemptAt <= :now AND e.attempts < :maxAttempts
+          AND (e.nodeId IS NULL OR e.nodeId = :nodeId)
+        ORDER BY e.nextAttemptAt
+    """)
+    List<StorageOutboxEntry> findDueForUpdate(
+            @Param("now") OffsetDateTime now,
+            @Param("maxAttempts") int maxAttempts,
+            @Param("nodeId") String nodeId,
+            Limit limit
+    );
+
+    List<StorageOutboxEntry> findByUserIdAndOperation(UUID userId, StorageOperation operation);
+
+    @Modifying
+    @Query("DELETE FROM storage_outbox e WHERE e.id = :id")
+    int removeById(@Param("id") UUID id);
+
+    @Modifying
+    @Query("UPDATE storage_outbox e SET e.nextAttemptAt = :nextAttemptAt, e.lastError = :error WHERE e.id = :id")
+    int scheduleRetry(
+            @Param("id") UUID id,
+            @Param("nextAttemptAt") OffsetDateTime nextAttemptAt,
+            @Param("error") String error
+    );
+}
@@ -1,26 +1,74 @@
 package com.karoldm.k_board_api.repositories;
 
-import com.karoldm.k_board_api.entities.Project;
+import com.karoldm.k_board_api.dto.projection.TaskStatusCount;
 import com.karoldm.k_board_api.entities.Task;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface TaskRepository extends JpaRepository<Task, UUID> {
-    List<Task> findByProject(Project project);
+    // tags and responsible are loaded with one subselect each (see Task), so a board costs three queries
+    @EntityGraph(attributePaths = "createdBy")
+    List<Task> findByProjectIdOrderByCreatedAtAscIdAsc(UUID projectId);
 
+    @EntityGraph(attributePaths = "createdBy")
     @Query("""
         SELECT t FROM tasks t
         JOIN t.responsible r
-        WHERE t.project = :project
+        WHERE t.project.id = :projectId
         AND r.id = :responsibleId
+        ORDER BY t.createdAt, t.id
     """)
-    List<Task> findByProjectAndResponsibleContaining(
-            @Param("project") Project project,
-            @Param("responsibleId") UUID responsibleI
+    List<Task> findByProjectIdAndResponsibleContaining(
+            @Param("projectId") UUID projectId,
+            @Param("responsibleId") UUID responsibleId
+    );
+
+    @EntityGraph(attributePaths = "createdBy")
+    Window<Task> findByProjectIdAndStatusOrderByCreatedAtAscIdAsc(
+            UUID projectId, String status, ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = "createdBy")
+    Window<Task> findByProjectIdAndStatusAndResponsibleIdOrderByCreatedAtAscIdAsc(
+            UUID projectId, String status, UUID responsibleId, ScrollPosition position, Limit limit);
+
+    // pages initialize their collections explicitly, a subselect would ignore the page limit
+    @Query("SELECT DISTINCT t FROM tasks t LEFT JOIN FETCH t.responsible WHERE t IN :tasks")
+    List<Task> fetchResponsible(@Param("tasks") Collection<Task> tasks);
+
+    @Query("SELECT DISTINCT t FROM tasks t LEFT JOIN FETCH t.tags WHERE t IN :tasks")
+    List<Task> fetchTags(@Param("tasks") Collection<Task> tasks);
+
+    long countByProjectIdAndStatus(UUID projectId, String status);
+
+    long countByProjectIdAndStatusAndResponsibleId(UUID projectId, String status, UUID responsibleId);
 
+    @Query("""
+        SELECT t.status AS status, COUNT(t) AS total
+        FROM tasks t
+        WHERE t.project.id = :projectId
+        GROUP BY t.status
+    """)
+    List<TaskStatusCount> countByStatus(@Param("projectId") UUID projectId);
+
+    @Query("""
+        SELECT t.status AS status, COUNT(t) AS total
+        FROM tasks t
+        JOIN t.responsible r
+        WHERE t.project.id = :projectId
+        AND r.id = :responsibleId
+        GROUP BY t.status
+    """)
+    List<TaskStatusCount> countByStatusAndResponsible(
+            @Param("projectId") UUID projectId,
+            @Param("responsibleId") UUID responsibleId
     );
 }
@@ -2,9 +2,36 @@ package com.karoldm.k_board_api.repositories;
 
 import com.karoldm.k_board_api.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Set;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     User findByEmail(String email);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE users u SET u.photoThumbnails = true WHERE u.id = :id AND u.photoUrl = :photoUrl")
+    int markPhotoThumbnailsStored(@Param("id") UUID id, @Param("photoUrl") String photoUrl);
+
+    /**
+     * The storage keys some user photo points to, matched on the end of the URL so that a
+     * change of the public base URL never makes stored photos look unreferenced.
+     */
+    @Query(value = """
+        SELECT k.key FROM unnest(CAST(:keys AS text[])) AS k(key)
+        WHERE EXISTS (
+            SELECT 1 FROM users u
+            WHERE u.photo_url = k.key
+               OR u.photo_url LIKE '%/' || replace(replace(replace(k.key, '\\', '\\\\'), '%', '\\%'), '_', '\\_')
+        )
+    """, nativeQuery = true)
+    Set<String> findReferencedPhotoKeys(@Param("keys") String[] keys);
+
+    @Query("SELECT count(u) FROM users u WHERE u.photoUrl <> ''")
+    long countWithPhoto();
 }
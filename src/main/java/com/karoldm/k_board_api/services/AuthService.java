@@ -9,26 +9,25 @@ import com.karoldm.k_board_api.entities.User;
 import com.karoldm.k_board_api.exceptions.InvalidPasswordException;
 import com.karoldm.k_board_api.exceptions.UserNotAuthenticated;
 import com.karoldm.k_board_api.exceptions.UserNotFoundException;
+import com.karoldm.k_board_api.infra.security.SessionPrincipal;
+import com.karoldm.k_board_api.infra.security.SessionUserHolder;
 import com.karoldm.k_board_api.mappers.UserMapper;
 import com.karoldm.k_board_api.repositories.UserRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -36,15 +35,13 @@ import java.time.ZoneOffset;
 public class AuthService implements UserDetailsService {
     private final UserRepository userRepository;
     private final TokenService tokenService;
-    private final AuthenticationConfiguration authenticationConfiguration;
-    private final FileStorageService storageService;
+    private final PasswordHashingService passwordHashingService;
+    private final StorageOutboxService storageOutboxService;
+    private final SessionUserHolder sessionUserHolder;
+    private final TransactionTemplate transactionTemplate;
 
     private final int MIN_PASSWORD_SIZE = 8;
 
-    private AuthenticationManager authenticationManager() throws Exception {
-        return authenticationConfiguration.getAuthenticationManager();
-    }
-
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         UserDetails user = userRepository.findByEmail(email);
@@ -57,28 +54,22 @@ public class AuthService implements UserDetailsService {
                 user.getAuthorities());
     }
 
-    public LoginResponseDTO authenticateUser(LoginPayloadDTO loginPayloadDTO) throws Exception {
+    public LoginResponseDTO authenticateUser(LoginPayloadDTO loginPayloadDTO) {
         User user = userRepository.findByEmail(loginPayloadDTO.email());
         if (user == null) {
             throw new UserNotFoundException(String.format("User with email %s not found", loginPayloadDTO.email()));
         }
 
-        boolean matches = new BCryptPasswordEncoder().matches(loginPayloadDTO.password(), user.getPassword());
+        boolean matches = passwordHashingService.matches(loginPayloadDTO.password(), user.getPassword());
         if(!matches){
             throw new InvalidPasswordException("Incorrect password");
         }
 
-        var usernamePassword = new UsernamePasswordAuthenticationToken(
-                loginPayloadDTO.email(), loginPayloadDTO.password());
-
-        var auth = authenticationManager().authenticate(usernamePassword);
-        UserDetails userDetails = (UserDetails) auth.getPrincipal();
-        String token = tokenService.generateToken(userDetails.getUsername());
+        String token = tokenService.generateToken(user.getUsername());
 
         return new LoginResponseDTO(token, UserMapper.toUserResponseDTO(user));
     }
 
-    @Transactional
     public UserResponseDTO registerUser(RegisterPayloadDTO registerPayloadDTO) {
         User existingUser = userRepository.findByEmail(registerPayloadDTO.email());
 
@@ -90,32 +81,50 @@ public class AuthService implements UserDetailsService {
             throw new InvalidPasswordException("The password must have at least 8 character.");
         }
 
-        String encryptedPassword = new BCryptPasswordEncoder().encode(registerPayloadDTO.password());
+        // hashed before the transaction, waiting for a hashing thread must not hold a connection
+        String encryptedPassword = passwordHashingService.encode(registerPayloadDTO.password());
         OffsetDateTime createdAt = OffsetDateTime.now(ZoneOffset.UTC);
 
-        String photoKey = storageService.uploadFile(registerPayloadDTO.photo());
-
         User newUser = User.builder()
                 .email(registerPayloadDTO.email())
                 .password(encryptedPassword)
                 .createdAt(createdAt)
                 .name(registerPayloadDTO.name())
-                .photoUrl(photoKey)
+                .photoUrl("")
                 .build();
 
-        User saveduser = userRepository.save(newUser);
+        return transactionTemplate.execute(status -> {
+            User saveduser = userRepository.save(newUser);
+            // uploaded after commit, the photo URL shows up once the outbox worker is done
+            storageOutboxService.enqueueUserPhoto(saveduser, registerPayloadDTO.photo());
 
-        return UserMapper.toUserResponseDTO(saveduser);
+            return UserMapper.toUserResponseDTO(saveduser);
+        });
     }
 
     public User getSessionUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email);
+        User user = sessionUserHolder.getUser();
+        if (user != null) {
+            return user;
+        }
+
+        user = userRepository.findById(getSessionUserId()).orElse(null);
 
         if(user == null){
             throw new UserNotAuthenticated("User is not logged.");
         }
 
+        sessionUserHolder.setUser(user);
         return user;
     }
+
+    public UUID getSessionUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !(authentication.getPrincipal() instanceof SessionPrincipal principal)) {
+            throw new UserNotAuthenticated("User is not logged.");
+        }
+
+        return principal.id();
+    }
 }
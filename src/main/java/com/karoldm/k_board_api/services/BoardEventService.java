@@ -0,0 +1,427 @@
+package com.karoldm.k_board_api.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.karoldm.k_board_api.enums.BoardEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Streams the changes of a board to its subscribers as Server-Sent Events. Services publish
+ * {@link BoardEvent}s inside their transaction and they go out after commit: each event is
+ * encoded once and offered to the bounded buffer of every subscriber of the project, which
+ * a small dispatcher pool drains to the connection with non-blocking servlet writes, so
+ * neither publishing nor draining ever waits on a socket. A client that stops reading
+ * overflows its buffer, or leaves a write pending for longer than the send timeout, and is
+ * disconnected; it reloads the board when it reconnects. Open streams hold no thread, and
+ * heartbeats keep proxies from closing them and find the connections that are gone.
+ */
+@Slf4j
+@Service
+public class BoardEventService {
+    private static final byte[] HEARTBEAT = ":heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+    // queued behind the pending events of a subscriber whose stream must end after them
+    private static final byte[] CLOSE = new byte[0];
+
+    // drain states: only the thread that moved a subscriber to RUNNING touches its output or completes it
+    private static final int IDLE = 0;
+    private static final int RUNNING = 1;
+    // waiting for onWritePossible after isReady() returned false
+    private static final int PARKED = 2;
+    private static final int DONE = 3;
+
+    private final AuthService authService;
+    private final ProjectAccessService projectAccessService;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor dispatcher;
+    private final Counter evictions;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration streamTimeout;
+    private final Duration reconnectDelay;
+    private final Duration sendTimeout;
+
+    /** Published inside the transaction that changed the board, sent to its subscribers after commit. */
+    public record BoardEvent(UUID projectId, BoardEventType type, Object data) {
+    }
+
+    /** Published when users leave a project, their streams of it end after commit. */
+    public record MembersRemoved(UUID projectId, Set<UUID> userIds) {
+    }
+
+    public BoardEventService(
+            AuthService authService,
+            ProjectAccessService projectAccessService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${api.board-events.dispatch-threads}") int dispatchThreads,
+            @Value("${api.board-events.buffer-size}") int bufferSize,
+            @Value("${api.board-events.max-subscribers}") int maxSubscribers,
+            @Value("${api.board-events.stream-timeout}") Duration streamTimeout,
+            @Value("${api.board-events.reconnect-delay}") Duration reconnectDelay,
+            @Value("${api.board-events.send-timeout}") Duration sendTimeout) {
+        this.authService = authService;
+        this.projectAccessService = projectAccessService;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.streamTimeout = streamTimeout;
+        this.reconnectDelay = reconnectDelay;
+        this.sendTimeout = sendTimeout;
+        // at most one drain per subscriber is queued, the subscriber limit bounds the queue
+        this.dispatcher = new ThreadPoolExecutor(
+                dispatchThreads, dispatchThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("board-events-"));
+
+        this.evictions = Counter.builder("board.events.evictions")
+                .description("Subscribers disconnected because they did not keep up")
+                .register(meterRegistry);
+        Gauge.builder("board.events.subscribers", subscriberCount, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    /** Answers {@code request} with the event stream of the project, the response stays open after returning. */
+    public void subscribe(UUID projectId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UUID userId = authService.getSessionUserId();
+        projectAccessService.checkOwnershipOrParticipation(userId, projectId);
+
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open event streams.");
+        }
+
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        AsyncContext context = request.startAsync(request, response);
+        context.setTimeout(streamTimeout.toMillis());
+
+        Subscriber subscriber = new Subscriber(projectId, userId, context, response.getOutputStream(),
+                new LinkedBlockingQueue<>(bufferSize));
+
+        context.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                unregister(subscriber);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                closeFromContainer(subscriber);
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                closeFromContainer(subscriber);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+
+        subscriber.buffer.offer(("retry:" + reconnectDelay.toMillis() + "\n:connected\n\n").getBytes(StandardCharsets.UTF_8));
+        // the container calls onWritePossible once this dispatch returns, until then the drain is parked
+        subscriber.out.setWriteListener(new WriteListener() {
+            @Override
+            public void onWritePossible() {
+                subscriber.writable.set(true);
+                if (subscriber.state.compareAndSet(PARKED, RUNNING)) {
+                    drain(subscriber);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                closeFromContainer(subscriber);
+            }
+        });
+
+        // visible to publishers and closers only once the stream is set up
+        subscribers.compute(projectId, (id, projectSubscribers) -> {
+            Set<Subscriber> updated = projectSubscribers != null ? projectSubscribers : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+    }
+
+    @TransactionalEventListener
+    public void onBoardEvent(BoardEvent event) {
+        Set<Subscriber> projectSubscribers = subscribers.get(event.projectId());
+        if (projectSubscribers == null) {
+            return;
+        }
+
+        byte[] message = encode(event);
+        for (Subscriber subscriber : projectSubscribers) {
+            offer(subscriber, message);
+            if (event.type() == BoardEventType.PROJECT_DELETED) {
+                offer(subscriber, CLOSE);
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onMembersRemoved(MembersRemoved event) {
+        Set<Subscriber> projectSubscribers = subscribers.get(event.projectId());
+        if (projectSubscribers == null) {
+            return;
+        }
+
+        for (Subscriber subscriber : projectSubscribers) {
+            if (event.userIds().contains(subscriber.userId)) {
+                close(subscriber);
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${api.board-events.heartbeat-interval}")
+    public void sendHeartbeats() {
+        long stalledBefore = System.nanoTime() - sendTimeout.toNanos();
+        subscribers.values().forEach(projectSubscribers -> projectSubscribers.forEach(subscriber -> {
+            long stalledSince = subscriber.stalledSince;
+            if (stalledSince != 0 && stalledSince - stalledBefore < 0) {
+                evict(subscriber);
+            } else {
+                offer(subscriber, HEARTBEAT);
+            }
+        }));
+    }
+
+    public int getSubscriberCount(UUID projectId) {
+        Set<Subscriber> projectSubscribers = subscribers.get(projectId);
+        return projectSubscribers == null ? 0 : projectSubscribers.size();
+    }
+
+    // open streams would hold up the graceful shutdown of the web server, clients reconnect to another node
+    @EventListener(ContextClosedEvent.class)
+    public void closeStreams() {
+        subscribers.values().forEach(projectSubscribers -> projectSubscribers.forEach(this::close));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // a dropped drain would leave its subscriber claimed, so those still queued run here
+        dispatcher.shutdownNow().forEach(Runnable::run);
+    }
+
+    private void offer(Subscriber subscriber, byte[] message) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.buffer.offer(message)) {
+            evict(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (!subscriber.closed.get()) {
+            evictions.increment();
+            log.debug("Disconnecting slow board subscriber of project {}", subscriber.projectId);
+            close(subscriber);
+        }
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.state.compareAndSet(IDLE, RUNNING)) {
+            dispatch(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Writes buffered messages while the connection takes them without blocking. When it does
+     * not, the drain parks and the container resumes it in onWritePossible. A closed subscriber
+     * is completed by the drain, never while another thread may be writing to it.
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            boolean unflushed = false;
+            while (true) {
+                if (subscriber.closed.get()) {
+                    finish(subscriber);
+                    return;
+                }
+
+                // marked before asking, a closer may take over as soon as the drain parks
+                if (subscriber.stalledSince == 0) {
+                    subscriber.stalledSince = System.nanoTime() | 1;
+                }
+                subscriber.writable.set(false);
+                if (!subscriber.out.isReady()) {
+                    subscriber.state.set(PARKED);
+                    // onWritePossible may have fired before the drain parked, or a closer may be waiting
+                    if ((subscriber.writable.get() || subscriber.closed.get())
+                            && subscriber.state.compareAndSet(PARKED, RUNNING)) {
+                        continue;
+                    }
+                    return;
+                }
+                subscriber.stalledSince = 0;
+
+                byte[] message = subscriber.buffer.poll();
+                if (message == null) {
+                    if (unflushed) {
+                        subscriber.out.flush();
+                        unflushed = false;
+                        continue;
+                    }
+                    subscriber.state.set(IDLE);
+                    // an event offered or a close requested while the drain was running is picked up here
+                    if ((subscriber.closed.get() || !subscriber.buffer.isEmpty())
+                            && subscriber.state.compareAndSet(IDLE, RUNNING)) {
+                        continue;
+                    }
+                    return;
+                }
+                if (message == CLOSE) {
+                    unregister(subscriber);
+                    finish(subscriber);
+                    return;
+                }
+                subscriber.out.write(message);
+                unflushed = true;
+            }
+        } catch (IOException | RuntimeException ex) {
+            // the client is gone
+            unregister(subscriber);
+            finish(subscriber);
+        }
+    }
+
+    // marks the subscriber closed, the drain that holds or claims the stream completes it
+    private void close(Subscriber subscriber) {
+        if (unregister(subscriber) && claim(subscriber)) {
+            dispatch(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * For the container's timeout and error callbacks, after which it finishes the request
+     * itself: the stream is completed before returning, once no drain is writing to it.
+     */
+    private void closeFromContainer(Subscriber subscriber) {
+        unregister(subscriber);
+        while (!claim(subscriber)) {
+            if (subscriber.state.get() == DONE) {
+                return;
+            }
+            // a running drain notices the close and completes the stream
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        finish(subscriber);
+    }
+
+    private static boolean claim(Subscriber subscriber) {
+        return subscriber.state.compareAndSet(IDLE, RUNNING) || subscriber.state.compareAndSet(PARKED, RUNNING);
+    }
+
+    // only called by the thread holding the drain; non-blocking, a pending write is dropped with the connection
+    private static void finish(Subscriber subscriber) {
+        subscriber.state.set(DONE);
+        try {
+            subscriber.context.complete();
+        } catch (IllegalStateException ex) {
+            // already completed by the container
+        }
+    }
+
+    private boolean unregister(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+
+        subscribers.computeIfPresent(subscriber.projectId, (id, projectSubscribers) -> {
+            projectSubscribers.remove(subscriber);
+            return projectSubscribers.isEmpty() ? null : projectSubscribers;
+        });
+        subscriber.buffer.clear();
+        subscriberCount.decrementAndGet();
+        return true;
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException ex) {
+            // shutting down: the caller holds the drain, and it never blocks
+            task.run();
+        }
+    }
+
+    private byte[] encode(BoardEvent event) {
+        try {
+            String name = event.type().name().toLowerCase(Locale.ROOT).replace('_', '-');
+            // serialized JSON has no line breaks, so the data fits on one line
+            return ("event:" + name + "\ndata:" + objectMapper.writeValueAsString(event.data()) + "\n\n")
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize board event " + event.type(), ex);
+        }
+    }
+
+    private static final class Subscriber {
+        private final UUID projectId;
+        private final UUID userId;
+        private final AsyncContext context;
+        private final ServletOutputStream out;
+        private final BlockingQueue<byte[]> buffer;
+        // parked until the container's first onWritePossible
+        private final AtomicInteger state = new AtomicInteger(PARKED);
+        private final AtomicBoolean writable = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // System.nanoTime() when the connection stopped taking writes, 0 while it takes them
+        private volatile long stalledSince;
+
+        private Subscriber(UUID projectId, UUID userId, AsyncContext context, ServletOutputStream out, BlockingQueue<byte[]> buffer) {
+            this.projectId = projectId;
+            this.userId = userId;
+            this.context = context;
+            this.out = out;
+            this.buffer = buffer;
+        }
+    }
+}
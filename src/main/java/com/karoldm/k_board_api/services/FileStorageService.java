@@ -1,80 +1,152 @@
 package com.karoldm.k_board_api.services;
 
 
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.DeleteObjectRequest;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.karoldm.k_board_api.exceptions.AmazonS3Exception;
+import com.karoldm.k_board_api.infra.storage.StorageBackend;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 
+/**
+ * Stores files in the configured {@link StorageBackend} and maps between their keys and the
+ * public URLs kept in the database.
+ */
 @Service
 public class FileStorageService {
-    private final AmazonS3 amazonS3Client;
+    private final StorageBackend storageBackend;
 
-    @Value("${api.aws.bucket-url}")
-    private String bucketUrl;
+    public record StoredFile(String key, String url, Instant lastModified) {
+    }
 
-    final private String bucketName = "k-board-images";
+    public record FileMetadata(long size, String contentType) {
+    }
 
-    public FileStorageService(AmazonS3 amazonS3Client) {
-        this.amazonS3Client = amazonS3Client;
+    public FileStorageService(StorageBackend storageBackend) {
+        this.storageBackend = storageBackend;
     }
 
+    @Observed(name = "kboard.storage", contextualName = "storage upload")
     public String uploadFile(MultipartFile fileUpload) {
         if (fileUpload == null || fileUpload.isEmpty()) {
             return "";
         }
 
-        try {
-            String originalFilename = fileUpload.getOriginalFilename();
-            String extension = "";
-            String fileName = "";
-
-            if (originalFilename != null && originalFilename.contains(".")) {
-                int lastDotIndex = originalFilename.lastIndexOf('.');
-                fileName = originalFilename.substring(0, lastDotIndex);
-                extension = originalFilename.substring(lastDotIndex);
-            }
-
-            String fileKey = String.format("%s-%s%s",
-                    fileName,
-                    UUID.randomUUID(),
-                    extension);
-
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentLength(fileUpload.getSize());
-            metadata.setContentType(fileUpload.getContentType());
-
-            amazonS3Client.putObject(
-                    new PutObjectRequest(bucketName, fileKey, fileUpload.getInputStream(), metadata)
-            );
-
-            return bucketUrl + fileKey;
+        String fileKey = newFileKey(fileUpload.getOriginalFilename());
+        try (InputStream content = fileUpload.getInputStream()) {
+            storageBackend.put(fileKey, content, fileUpload.getSize(), fileUpload.getContentType(), null);
         } catch (IOException ex) {
             throw new AmazonS3Exception("Error uploading file: " + ex.getMessage());
         }
+        return urlOf(fileKey);
     }
 
+    /**
+     * Uploads a file staged on local disk, letting the backend stream it from the file
+     * instead of buffering a request body.
+     */
+    @Observed(name = "kboard.storage", contextualName = "storage upload")
+    public String uploadFile(Path file, String originalFilename, String contentType) {
+        String fileKey = newFileKey(originalFilename);
+        storageBackend.put(fileKey, file, contentType);
+        return urlOf(fileKey);
+    }
+
+    @Observed(name = "kboard.storage", contextualName = "storage remove")
     public void removeFileByUrl(String fileUrl) {
         if (fileUrl == null || fileUrl.isEmpty()) {
             return;
         }
+        storageBackend.delete(toFileKey(fileUrl));
+    }
+
+    /**
+     * Deletes the given files, on S3 with multi-object requests of up to 1000 keys each, and
+     * returns how many were deleted. Files that could not be deleted are logged and left for a
+     * later run.
+     */
+    @Observed(name = "kboard.storage", contextualName = "storage remove batch")
+    public int removeFilesByUrl(Collection<String> fileUrls) {
+        List<String> keys = fileUrls.stream()
+                .filter(url -> url != null && !url.isEmpty())
+                .map(this::toFileKey)
+                .toList();
+        return storageBackend.deleteAll(keys);
+    }
 
-        try {
-            String fileKey = fileUrl.replace(bucketUrl, "");
+    /** Hands every stored file to {@code pageConsumer}, one listing page of up to 1000 files at a time. */
+    @Observed(name = "kboard.storage", contextualName = "storage list")
+    public void listFiles(Consumer<List<StoredFile>> pageConsumer) {
+        storageBackend.list(page -> pageConsumer.accept(page.stream()
+                .map(object -> new StoredFile(object.key(), urlOf(object.key()), object.lastModified()))
+                .toList()));
+    }
+
+    /**
+     * Presigns a PUT of {@code fileKey} so the client uploads straight to storage. The
+     * content type is part of the signature, the size is not and must be checked afterwards.
+     */
+    @Observed(name = "kboard.storage", contextualName = "storage presign")
+    public StorageBackend.PresignedUpload presignUpload(String fileKey, String contentType, Duration validity) {
+        return storageBackend.presignUpload(fileKey, contentType, validity);
+    }
 
-            if (amazonS3Client.doesObjectExist(bucketName, fileKey)) {
-                amazonS3Client.deleteObject(bucketName, fileKey);
-            }
-        } catch (Exception ex) {
-            throw new AmazonS3Exception("Error deleting file: " + ex.getMessage());
+    @Observed(name = "kboard.storage", contextualName = "storage head")
+    public Optional<FileMetadata> getFileMetadata(String fileKey) {
+        return storageBackend.stat(fileKey)
+                .map(object -> new FileMetadata(object.size(), object.contentType()));
+    }
+
+    /** Stores derived content under a key that is never reused, so clients may cache it for good. */
+    @Observed(name = "kboard.storage", contextualName = "storage put")
+    public void putFile(String fileKey, byte[] content, String contentType) {
+        storageBackend.put(fileKey, new ByteArrayInputStream(content), content.length, contentType,
+                "public, max-age=31536000, immutable");
+    }
+
+    /** Opens a stored file for reading, the caller closes the stream. */
+    @Observed(name = "kboard.storage", contextualName = "storage get")
+    public InputStream openFile(String fileKey) {
+        return storageBackend.open(fileKey);
+    }
+
+    public String urlOf(String fileKey) {
+        return storageBackend.baseUrl() + fileKey;
+    }
+
+    public String keyOf(String fileUrl) {
+        return toFileKey(fileUrl);
+    }
+
+    private String toFileKey(String fileUrl) {
+        return fileUrl.replace(storageBackend.baseUrl(), "");
+    }
+
+    private String newFileKey(String originalFilename) {
+        String extension = "";
+        String fileName = "";
+
+        if (originalFilename != null && originalFilename.contains(".")) {
+            int lastDotIndex = originalFilename.lastIndexOf('.');
+            fileName = originalFilename.substring(0, lastDotIndex);
+            extension = originalFilename.substring(lastDotIndex);
         }
+
+        return String.format("%s-%s%s",
+                fileName,
+                UUID.randomUUID(),
+                extension);
     }
 }
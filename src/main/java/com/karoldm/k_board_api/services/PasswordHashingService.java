@@ -0,0 +1,93 @@
+package com.karoldm.k_board_api.services;
+
+import com.karoldm.k_board_api.exceptions.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.*;
+
+/**
+ * Runs BCrypt on a small dedicated pool so a login burst cannot occupy every request thread
+ * with hashing. When the pool and its queue are full the request is rejected right away.
+ */
+@Service
+public class PasswordHashingService {
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${api.security.password-hashing.threads}") int threads,
+            @Value("${api.security.password-hashing.queue-capacity}") int queueCapacity,
+            @Value("${api.security.password-hashing.timeout-seconds}") long timeoutSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutSeconds = timeoutSeconds;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("password.hashing.duration")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing.duration")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+
+        Gauge.builder("password.hashing.queue.size", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return execute(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T execute(Timer timer, Callable<T> hashing) {
+        Future<T> result;
+
+        try {
+            result = executor.submit(() -> timer.recordCallable(hashing));
+        } catch (RejectedExecutionException ex) {
+            throw new PasswordHashingUnavailableException("Too many authentication requests, try again later.");
+        }
+
+        try {
+            return result.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Password hashing was interrupted.");
+        } catch (TimeoutException ex) {
+            result.cancel(true);
+            throw new PasswordHashingUnavailableException("Too many authentication requests, try again later.");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error while hashing password", ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,221 @@
+package com.karoldm.k_board_api.services;
+
+import com.karoldm.k_board_api.repositories.ProjectRepository;
+import com.karoldm.k_board_api.repositories.UserRepository;
+import com.karoldm.k_board_api.utils.PhotoThumbnails;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the {@link PhotoThumbnails} sizes of a profile photo. Each photo is decoded once,
+ * subsampled while reading so that no more than {@link #MAX_DECODED_PIXELS} are ever held,
+ * and sources whose header announces more than {@code max-source-pixels} are refused before
+ * decoding. Background work runs on a small pool with a bounded queue, which together with
+ * the decode budget caps the memory a burst of large uploads can take.
+ */
+@Slf4j
+@Service
+public class PhotoThumbnailService {
+    static final long MAX_DECODED_PIXELS = 2048L * 2048L;
+
+    private final FileStorageService storageService;
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final ThreadPoolExecutor executor;
+    private final long maxSourcePixels;
+    private final float jpegQuality;
+    private final Timer renderTimer;
+
+    public PhotoThumbnailService(
+            FileStorageService storageService,
+            UserRepository userRepository,
+            ProjectRepository projectRepository,
+            MeterRegistry meterRegistry,
+            @Value("${api.storage.thumbnails.threads}") int threads,
+            @Value("${api.storage.thumbnails.queue-capacity}") int queueCapacity,
+            @Value("${api.storage.thumbnails.max-source-pixels}") long maxSourcePixels,
+            @Value("${api.storage.thumbnails.jpeg-quality}") float jpegQuality) {
+        this.storageService = storageService;
+        this.userRepository = userRepository;
+        this.projectRepository = projectRepository;
+        this.maxSourcePixels = maxSourcePixels;
+        this.jpegQuality = jpegQuality;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("photo-thumbnails-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.renderTimer = Timer.builder("photo.thumbnails.duration").register(meterRegistry);
+        Gauge.builder("photo.thumbnails.queue.size", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Renders and stores the thumbnails of a photo that is still on local disk, on the calling
+     * thread. Returns whether every size was stored.
+     */
+    public boolean generate(String photoUrl, Path source) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            return store(photoUrl, input);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not render thumbnails of {}: {}", photoUrl, ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reads the stored photo on the thumbnail pool and flags the user once its thumbnails are
+     * stored, unless the photo was replaced in the meantime. When the queue is full the user
+     * keeps being served the original photo.
+     */
+    public void generateInBackground(UUID userId, String photoUrl) {
+        try {
+            executor.execute(() -> {
+                try (InputStream content = storageService.openFile(storageService.keyOf(photoUrl));
+                     ImageInputStream input = ImageIO.createImageInputStream(content)) {
+                    if (store(photoUrl, input) && userRepository.markPhotoThumbnailsStored(userId, photoUrl) > 0) {
+                        projectRepository.bumpVersionsShowingUser(userId);
+                    }
+                } catch (IOException | RuntimeException ex) {
+                    log.warn("Could not render thumbnails of {}: {}", photoUrl, ex.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            log.warn("Thumbnail queue is full, {} is served without thumbnails", photoUrl);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean store(String photoUrl, ImageInputStream input) throws IOException {
+        if (input == null) {
+            throw new IOException("Cannot open image");
+        }
+
+        long start = System.nanoTime();
+        Map<Integer, byte[]> thumbnails = render(input);
+        renderTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        for (Map.Entry<Integer, byte[]> thumbnail : thumbnails.entrySet()) {
+            String thumbnailKey = storageService.keyOf(PhotoThumbnails.urlFor(photoUrl, thumbnail.getKey()));
+            storageService.putFile(thumbnailKey, thumbnail.getValue(), "image/jpeg");
+        }
+        return true;
+    }
+
+    Map<Integer, byte[]> render(ImageInputStream input) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            throw new IOException("Unsupported image format");
+        }
+
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(input, true, true);
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+            if ((long) width * height > maxSourcePixels) {
+                throw new IOException(String.format("Image of %dx%d exceeds %d pixels", width, height, maxSourcePixels));
+            }
+
+            // keep the shorter side at least twice the largest thumbnail and the whole decode within budget
+            int largest = PhotoThumbnails.SIZES.get(0);
+            int subsampling = Math.max(1, Math.min(width, height) / (2 * largest));
+            while ((long) (width / subsampling) * (height / subsampling) > MAX_DECODED_PIXELS) {
+                subsampling++;
+            }
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            BufferedImage decoded = reader.read(0, param);
+
+            int side = Math.min(decoded.getWidth(), decoded.getHeight());
+            BufferedImage current = decoded.getSubimage(
+                    (decoded.getWidth() - side) / 2, (decoded.getHeight() - side) / 2, side, side);
+
+            Map<Integer, byte[]> thumbnails = new LinkedHashMap<>();
+            for (int size : PhotoThumbnails.SIZES) {
+                current = resize(current, size);
+                thumbnails.put(size, encodeJpeg(current));
+            }
+            return thumbnails;
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    // halves step by step, a single large bilinear step would skip most source pixels and alias
+    private static BufferedImage resize(BufferedImage source, int size) {
+        BufferedImage current = source;
+        int side = source.getWidth();
+
+        do {
+            side = Math.max(size, side / 2);
+            BufferedImage scaled = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = scaled.createGraphics();
+            try {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, side, side);
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, side, side, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = scaled;
+        } while (side > size);
+
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
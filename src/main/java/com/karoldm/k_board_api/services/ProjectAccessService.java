@@ -0,0 +1,95 @@
+package com.karoldm.k_board_api.services;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.karoldm.k_board_api.enums.ProjectAccessLevel;
+import com.karoldm.k_board_api.repositories.ProjectRepository;
+import com.karoldm.k_board_api.utils.CallerLoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Answers whether a user owns or participates in a project with a single existence query,
+ * keeping granted access for a short time. Denied access is never cached, so a user who just
+ * joined a project is not locked out by a stale entry.
+ */
+@Service
+public class ProjectAccessService {
+    private final ProjectRepository projectRepository;
+    private final AsyncCache<AccessKey, ProjectAccessLevel> cache;
+
+    public ProjectAccessService(
+            ProjectRepository projectRepository,
+            MeterRegistry meterRegistry,
+            @Value("${api.projects.access-cache.max-size}") long maxSize,
+            @Value("${api.projects.access-cache.ttl-seconds}") long ttlSeconds) {
+        this.projectRepository = projectRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "project.access");
+    }
+
+    public ProjectAccessLevel getAccessLevel(UUID userId, UUID projectId) {
+        ProjectAccessLevel accessLevel = CallerLoadingCache.get(cache, new AccessKey(userId, projectId), this::loadAccessLevel);
+        return accessLevel == null ? ProjectAccessLevel.NONE : accessLevel;
+    }
+
+    public void checkOwnership(UUID userId, UUID projectId) {
+        if (getAccessLevel(userId, projectId) != ProjectAccessLevel.OWNER) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You do not have permission to access this project");
+        }
+    }
+
+    public void checkOwnershipOrParticipation(UUID userId, UUID projectId) {
+        if (getAccessLevel(userId, projectId) == ProjectAccessLevel.NONE) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You do not have permission to access this project");
+        }
+    }
+
+    public void evict(UUID userId, UUID projectId) {
+        afterCommit(() -> cache.synchronous().invalidate(new AccessKey(userId, projectId)));
+    }
+
+    public void evictProject(UUID projectId) {
+        afterCommit(() -> cache.synchronous().asMap().keySet().removeIf(key -> key.projectId().equals(projectId)));
+    }
+
+    // evicting before commit would let a concurrent request cache the old membership again
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private ProjectAccessLevel loadAccessLevel(AccessKey key) {
+        ProjectAccessLevel accessLevel = projectRepository.findAccessLevel(key.projectId(), key.userId())
+                .map(ProjectAccessLevel::valueOf)
+                .orElse(ProjectAccessLevel.NONE);
+
+        return accessLevel == ProjectAccessLevel.NONE ? null : accessLevel;
+    }
+
+    private record AccessKey(UUID userId, UUID projectId) {
+    }
+}
@@ -6,16 +6,25 @@ import com.karoldm.k_board_api.dto.payload.ProjectPayloadDTO;
 import com.karoldm.k_board_api.dto.response.ProjectResponseDTO;
 import com.karoldm.k_board_api.entities.Project;
 import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.enums.BoardEventType;
+import com.karoldm.k_board_api.enums.ProjectSearchMode;
 import com.karoldm.k_board_api.mappers.ProjectMapper;
 import com.karoldm.k_board_api.repositories.ProjectRepository;
 import com.karoldm.k_board_api.repositories.UserRepository;
+import com.karoldm.k_board_api.services.BoardEventService.BoardEvent;
+import com.karoldm.k_board_api.services.BoardEventService.MembersRemoved;
+import com.karoldm.k_board_api.utils.LikePattern;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -23,14 +32,19 @@ import org.springframework.web.server.ResponseStatusException;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "kboard.service")
 @RequiredArgsConstructor
 public class ProjectService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final AuthService authService;
+    private final ProjectAccessService projectAccessService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Optional<Project> findProjectById(UUID id) {return projectRepository.findById(id);}
 
@@ -63,10 +77,14 @@ public class ProjectService {
         project.addMember(member);
         member.addProjectParticipated(project);
         userRepository.save(member);
+        projectAccessService.evict(member.getId(), project.getId());
 
         Project savedProject = projectRepository.save(project);
+        projectRepository.bumpVersion(project.getId());
 
-        return ProjectMapper.toProjectResponseDTO(savedProject);
+        ProjectResponseDTO response = ProjectMapper.toProjectResponseDTO(savedProject);
+        eventPublisher.publishEvent(new BoardEvent(project.getId(), BoardEventType.PROJECT_UPDATED, response));
+        return response;
     }
 
     @Transactional
@@ -76,8 +94,12 @@ public class ProjectService {
 
         for (User member : members) {
             member.removeProjectParticipated(project);
+            projectAccessService.evict(member.getId(), project.getId());
         }
         userRepository.saveAll(members);
+        projectRepository.bumpVersion(project.getId());
+        eventPublisher.publishEvent(new MembersRemoved(project.getId(),
+                members.stream().map(User::getId).collect(Collectors.toSet())));
 
         return projectRepository.save(project);
     }
@@ -108,8 +130,11 @@ public class ProjectService {
         project.setTitle(data.title());
 
         Project savedProject = projectRepository.save(project);
+        projectRepository.bumpVersion(id);
 
-        return ProjectMapper.toProjectResponseDTO(savedProject);
+        ProjectResponseDTO response = ProjectMapper.toProjectResponseDTO(savedProject);
+        eventPublisher.publishEvent(new BoardEvent(id, BoardEventType.PROJECT_UPDATED, response));
+        return response;
     }
 
     @Transactional
@@ -122,39 +147,116 @@ public class ProjectService {
         }
 
         projectRepository.deleteById(id);
+        projectAccessService.evictProject(id);
+        eventPublisher.publishEvent(new BoardEvent(id, BoardEventType.PROJECT_DELETED, Map.of("id", id)));
     }
 
-    public Page<ProjectResponseDTO> getAllProjectsByUser(
-            String filter, int page, int size, String sortBy, String direction) {
+    @Transactional
+    public Slice<ProjectResponseDTO> getAllProjectsByUser(
+            String filter, ProjectSearchMode searchMode, int page, int size,
+            String sortBy, String direction, boolean includeTotal) {
         User user = authService.getSessionUser();
 
-        Sort sort = direction.equalsIgnoreCase("desc")
-                ? Sort.by(sortBy).descending()
-                : Sort.by(sortBy).ascending();
+        if (isRankedSearch(filter, searchMode)) {
+            String query = filter.toLowerCase(Locale.ROOT);
+            String pattern = LikePattern.contains(filter);
+
+            Slice<Project> projects = findRankedProjects(projectRepository
+                    .rankOwnedProjectIds(user.getId(), query, pattern, PageRequest.of(page, size)));
+
+            return toProjectResponseSlice(projects, includeTotal,
+                    () -> projectRepository.countRankedOwnedProjects(user.getId(), query, pattern));
+        }
 
-        Pageable pageable = PageRequest.of(page, size, sort);
+        String pattern = toTitlePattern(filter, searchMode);
 
-        Page<Project> projectPage = projectRepository.findByOwnerAndTitleContainingIgnoreCase(
-                user, filter, pageable);
+        Slice<Project> projects = projectRepository.searchOwnedProjects(
+                user, pattern, buildPageable(page, size, sortBy, direction));
 
-        return projectPage.map(ProjectMapper::toProjectResponseDTO);
+        return toProjectResponseSlice(projects, includeTotal,
+                () -> projectRepository.countOwnedProjects(user, pattern));
     }
 
-    public Page<ProjectResponseDTO> getAllProjectsByUserParticipation(
-            String filter, int page, int size, String sortBy, String direction) {
+    @Transactional
+    public Slice<ProjectResponseDTO> getAllProjectsByUserParticipation(
+            String filter, ProjectSearchMode searchMode, int page, int size,
+            String sortBy, String direction, boolean includeTotal) {
 
         User user = authService.getSessionUser();
 
+        if (isRankedSearch(filter, searchMode)) {
+            String query = filter.toLowerCase(Locale.ROOT);
+            String pattern = LikePattern.contains(filter);
+
+            Slice<Project> projects = findRankedProjects(projectRepository
+                    .rankParticipatingProjectIds(user.getId(), query, pattern, PageRequest.of(page, size)));
+
+            return toProjectResponseSlice(projects, includeTotal,
+                    () -> projectRepository.countRankedParticipatingProjects(user.getId(), query, pattern));
+        }
+
+        String pattern = toTitlePattern(filter, searchMode);
+
+        Slice<Project> projects = projectRepository.searchParticipatingProjects(
+                user, pattern, buildPageable(page, size, sortBy, direction));
+
+        return toProjectResponseSlice(projects, includeTotal,
+                () -> projectRepository.countParticipatingProjects(user, pattern));
+    }
+
+    private boolean isRankedSearch(String filter, ProjectSearchMode searchMode) {
+        return searchMode == ProjectSearchMode.RANKED && !filter.isBlank();
+    }
+
+    private String toTitlePattern(String filter, ProjectSearchMode searchMode) {
+        return searchMode == ProjectSearchMode.PREFIX
+                ? LikePattern.startsWith(filter)
+                : LikePattern.contains(filter);
+    }
+
+    private Pageable buildPageable(int page, int size, String sortBy, String direction) {
         Sort sort = direction.equalsIgnoreCase("desc")
                 ? Sort.by(sortBy).descending()
                 : Sort.by(sortBy).ascending();
 
-        Pageable pageable = PageRequest.of(page, size, sort);
+        return PageRequest.of(page, size, sort);
+    }
+
+    private Slice<Project> findRankedProjects(Slice<UUID> projectIds) {
+        Map<UUID, Project> projects = projectRepository.findWithOwnerByIdIn(projectIds.getContent()).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+
+        List<Project> rankedProjects = projectIds.stream()
+                .map(projects::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new SliceImpl<>(rankedProjects, projectIds.getPageable(), projectIds.hasNext());
+    }
+
+    private Slice<ProjectResponseDTO> toProjectResponseSlice(
+            Slice<Project> projects, boolean includeTotal, LongSupplier total) {
+        // owners come from the entity graph, members for the whole page in one query
+        if (projects.hasContent()) {
+            projectRepository.fetchMembers(projects.getContent());
+        }
 
-        Page<Project> projectPage = projectRepository
-                .findByMembersContainsAndTitleContainingIgnoreCase(user, filter, pageable);
+        List<ProjectResponseDTO> content = projects.map(ProjectMapper::toProjectResponseDTO).getContent();
 
-        return projectPage.map(ProjectMapper::toProjectResponseDTO);
+        return includeTotal
+                ? PageableExecutionUtils.getPage(content, projects.getPageable(), total)
+                : new SliceImpl<>(content, projects.getPageable(), projects.hasNext());
+    }
+
+    /**
+     * The version stamp of the project's board, which every change to the project, its members
+     * or its tasks bumps. Reads tag their responses with it and answer unchanged ones with 304.
+     */
+    public long getProjectVersion(final UUID id) {
+        checkProjectOwnershipOrParticipation(id);
+
+        return projectRepository.findVersion(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found with id: " + id));
     }
 
     public ProjectResponseDTO getProjectById(final UUID id) {
@@ -166,18 +268,11 @@ public class ProjectService {
     }
 
     private void checkProjectOwnershipOrParticipation(UUID projectId) {
-        boolean isNotOwner = authService.getSessionUser().getProjects().stream().noneMatch(project -> project.getId().equals(projectId));
-        boolean isNotMember = authService.getSessionUser().getParticipatedProjects().stream().noneMatch(project -> project.getId().equals(projectId));
-
-        if (isNotMember && isNotOwner) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You do not have permission to access this project");
-        }
+        projectAccessService.checkOwnershipOrParticipation(authService.getSessionUserId(), projectId);
     }
 
     private void checkProjectOwnership(UUID projectId) {
-        if (authService.getSessionUser().getProjects().stream().noneMatch(project -> project.getId().equals(projectId))) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You do not have permission to access this project");
-        }
+        projectAccessService.checkOwnership(authService.getSessionUserId(), projectId);
     }
 
     public Project getProjectOrThrow(UUID projectId) {
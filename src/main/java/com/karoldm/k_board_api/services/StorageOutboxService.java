@@ -0,0 +1,265 @@
+package com.karoldm.k_board_api.services;
+
+import com.karoldm.k_board_api.entities.StorageOutboxEntry;
+import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.enums.StorageOperation;
+import com.karoldm.k_board_api.exceptions.AmazonS3Exception;
+import com.karoldm.k_board_api.exceptions.UserNotFoundException;
+import com.karoldm.k_board_api.repositories.ProjectRepository;
+import com.karoldm.k_board_api.repositories.StorageOutboxRepository;
+import com.karoldm.k_board_api.repositories.UserRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records object-storage work in the caller's transaction and gives the outbox worker short
+ * transactions to claim and settle it. Photos are staged on local disk, the user row commits
+ * without them and the worker swaps the URL once the upload finished. Staged uploads carry
+ * the id of the node that holds the file and only that node claims them.
+ */
+@Slf4j
+@Service
+public class StorageOutboxService {
+    private final StorageOutboxRepository outboxRepository;
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path stagingDirectory;
+    private final String nodeId;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retryBaseDelay;
+    private final Duration retryMaxDelay;
+
+    /** Published inside the enqueuing transaction, the worker picks it up after commit. */
+    public record EntriesEnqueued() {
+    }
+
+    public StorageOutboxService(
+            StorageOutboxRepository outboxRepository,
+            UserRepository userRepository,
+            ProjectRepository projectRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${api.storage.staging-dir}") Path stagingDirectory,
+            @Value("${api.storage.node-id}") String nodeId,
+            @Value("${api.storage.outbox.max-attempts}") int maxAttempts,
+            @Value("${api.storage.outbox.lease}") Duration lease,
+            @Value("${api.storage.outbox.retry-base-delay}") Duration retryBaseDelay,
+            @Value("${api.storage.outbox.retry-max-delay}") Duration retryMaxDelay) {
+        this.outboxRepository = outboxRepository;
+        this.userRepository = userRepository;
+        this.projectRepository = projectRepository;
+        this.eventPublisher = eventPublisher;
+        this.stagingDirectory = stagingDirectory;
+        this.nodeId = nodeId.isBlank() ? localHostName() : nodeId;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.retryBaseDelay = retryBaseDelay;
+        this.retryMaxDelay = retryMaxDelay;
+
+        try {
+            Files.createDirectories(stagingDirectory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create staging directory " + stagingDirectory, ex);
+        }
+    }
+
+    /**
+     * Stages {@code photo} for upload as the new photo of {@code user}. Uploads still pending
+     * for the same user are dropped, so a slow older upload can never overwrite a newer one.
+     */
+    @Transactional
+    public void enqueueUserPhoto(User user, MultipartFile photo) {
+        if (photo == null || photo.isEmpty()) {
+            return;
+        }
+
+        dropPendingUploads(user.getId());
+
+        Path staged = stagingDirectory.resolve(UUID.randomUUID() + ".upload");
+        try {
+            photo.transferTo(staged);
+        } catch (IOException ex) {
+            throw new AmazonS3Exception("Error staging file: " + ex.getMessage());
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    deleteStagedFile(staged);
+                }
+            }
+        });
+
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        outboxRepository.save(StorageOutboxEntry.builder()
+                .operation(StorageOperation.UPLOAD_USER_PHOTO)
+                .userId(user.getId())
+                .stagedPath(staged.toString())
+                .nodeId(nodeId)
+                .fileName(photo.getOriginalFilename())
+                .contentType(photo.getContentType())
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        eventPublisher.publishEvent(new EntriesEnqueued());
+    }
+
+    /**
+     * Points the user at a file that is already stored, such as a verified direct upload,
+     * and schedules the previous photo for deletion.
+     */
+    @Transactional
+    public User replaceUserPhoto(UUID userId, String photoUrl) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found."));
+
+        dropPendingUploads(userId);
+
+        String previousUrl = user.getPhotoUrl();
+        if (!photoUrl.equals(previousUrl)) {
+            user.setPhotoUrl(photoUrl);
+            user.setPhotoThumbnails(false);
+            enqueueDeletion(previousUrl);
+            projectRepository.bumpVersionsShowingUser(userId);
+        }
+        return user;
+    }
+
+    @Transactional
+    public void enqueueDeletion(String objectUrl) {
+        if (objectUrl == null || objectUrl.isEmpty()) {
+            return;
+        }
+
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        outboxRepository.save(StorageOutboxEntry.builder()
+                .operation(StorageOperation.DELETE_OBJECT)
+                .objectUrl(objectUrl)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        eventPublisher.publishEvent(new EntriesEnqueued());
+    }
+
+    /**
+     * Leases up to {@code limit} due entries: their next attempt moves past the lease so that
+     * neither another worker nor a crash-restarted one picks them up while this one runs.
+     */
+    @Transactional
+    public List<StorageOutboxEntry> claimDue(int limit) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<StorageOutboxEntry> entries = outboxRepository.findDueForUpdate(now, maxAttempts, nodeId, Limit.of(limit));
+
+        for (StorageOutboxEntry entry : entries) {
+            entry.setAttempts(entry.getAttempts() + 1);
+            entry.setNextAttemptAt(now.plus(lease));
+        }
+        return entries;
+    }
+
+    @Transactional
+    public void completePhotoUpload(StorageOutboxEntry entry, String photoUrl, boolean thumbnails) {
+        if (outboxRepository.removeById(entry.getId()) == 0) {
+            // a newer photo was staged while this one uploaded
+            enqueueDeletion(photoUrl);
+            return;
+        }
+
+        User user = userRepository.findById(entry.getUserId()).orElse(null);
+        if (user == null) {
+            enqueueDeletion(photoUrl);
+            return;
+        }
+
+        String previousUrl = user.getPhotoUrl();
+        user.setPhotoUrl(photoUrl);
+        user.setPhotoThumbnails(thumbnails);
+        enqueueDeletion(previousUrl);
+        projectRepository.bumpVersionsShowingUser(user.getId());
+    }
+
+    @Transactional
+    public void complete(StorageOutboxEntry entry) {
+        outboxRepository.removeById(entry.getId());
+    }
+
+    @Transactional
+    public void fail(StorageOutboxEntry entry, Exception error) {
+        long backoff = retryBaseDelay.toMillis() << Math.min(entry.getAttempts() - 1, 20);
+        OffsetDateTime nextAttemptAt = OffsetDateTime.now(ZoneOffset.UTC)
+                .plus(Duration.ofMillis(Math.min(backoff, retryMaxDelay.toMillis())));
+
+        String message = String.valueOf(error.getMessage());
+        if (outboxRepository.scheduleRetry(entry.getId(), nextAttemptAt, message.substring(0, Math.min(message.length(), 1024))) == 0) {
+            // superseded by a newer photo while it ran, nothing is lost
+            return;
+        }
+
+        if (entry.getAttempts() >= maxAttempts) {
+            log.error("Giving up on storage outbox entry {} ({}) after {} attempts", entry.getId(), entry.getOperation(),
+                    entry.getAttempts(), error);
+        } else {
+            log.warn("Storage outbox entry {} ({}) failed, attempt {} of {}: {}", entry.getId(), entry.getOperation(),
+                    entry.getAttempts(), maxAttempts, message);
+        }
+    }
+
+    private void dropPendingUploads(UUID userId) {
+        List<Path> superseded = new ArrayList<>();
+        for (StorageOutboxEntry pending : outboxRepository.findByUserIdAndOperation(userId, StorageOperation.UPLOAD_USER_PHOTO)) {
+            if (outboxRepository.removeById(pending.getId()) > 0) {
+                superseded.add(Path.of(pending.getStagedPath()));
+            }
+        }
+        if (superseded.isEmpty()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                superseded.forEach(StorageOutboxService.this::deleteStagedFile);
+            }
+        });
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void deleteStagedFile(Path staged) {
+        try {
+            Files.deleteIfExists(staged);
+        } catch (IOException ex) {
+            log.warn("Could not delete staged file {}", staged, ex);
+        }
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            throw new IllegalStateException("Cannot resolve the host name, set api.storage.node-id", ex);
+        }
+    }
+}
@@ -2,19 +2,30 @@ package com.karoldm.k_board_api.services;
 
 import com.karoldm.k_board_api.dto.payload.EditTaskPayloadDTO;
 import com.karoldm.k_board_api.dto.payload.TaskPayloadDTO;
+import com.karoldm.k_board_api.dto.projection.TaskStatusCount;
+import com.karoldm.k_board_api.dto.response.TaskBoardPageResponseDTO;
+import com.karoldm.k_board_api.dto.response.TaskColumnResponseDTO;
 import com.karoldm.k_board_api.dto.response.TaskListResponseDTO;
 import com.karoldm.k_board_api.dto.response.TaskResponseDTO;
 import com.karoldm.k_board_api.entities.Project;
 import com.karoldm.k_board_api.entities.Task;
 import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.enums.BoardEventType;
 import com.karoldm.k_board_api.enums.TaskStatus;
 import com.karoldm.k_board_api.mappers.TaskMapper;
 import com.karoldm.k_board_api.repositories.ProjectRepository;
 import com.karoldm.k_board_api.repositories.TaskRepository;
 import com.karoldm.k_board_api.repositories.UserRepository;
+import com.karoldm.k_board_api.services.BoardEventService.BoardEvent;
+import com.karoldm.k_board_api.utils.TaskCursor;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -25,12 +36,17 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "kboard.service")
 @RequiredArgsConstructor
 public class TaskService {
+    private static final int MAX_COLUMN_PAGE_SIZE = 100;
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
     private final AuthService authService;
+    private final ProjectAccessService projectAccessService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Optional<Task> findTaskById(UUID id) {
         return taskRepository.findById(id);
@@ -67,8 +83,11 @@ public class TaskService {
                 .build();
 
         Task savedTask = taskRepository.save(task);
+        projectRepository.adjustTaskCounters(project.getId(), 1, 0);
 
-        return TaskMapper.toTaskResponseDTO(savedTask);
+        TaskResponseDTO response = TaskMapper.toTaskResponseDTO(savedTask);
+        eventPublisher.publishEvent(new BoardEvent(project.getId(), BoardEventType.TASK_CREATED, response));
+        return response;
     }
 
     @Transactional
@@ -79,14 +98,23 @@ public class TaskService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found with ID: " + id);
         }
 
-        checkProjectOwnershipOrParticipation(task.get().getProject().getId());
+        UUID projectId = task.get().getProject().getId();
+        checkProjectOwnershipOrParticipation(projectId);
 
         taskRepository.deleteById(id);
+        projectRepository.adjustTaskCounters(projectId, -1, isCompleted(task.get()) ? -1 : 0);
+        eventPublisher.publishEvent(new BoardEvent(projectId, BoardEventType.TASK_DELETED, Map.of("id", id)));
     }
 
     protected void updateTaskData(Task task, EditTaskPayloadDTO data) {
+        int completedDelta = 0;
         if(data.status().isPresent()){
+            boolean wasCompleted = isCompleted(task);
             task.setStatus(data.status().get().toString());
+
+            if (wasCompleted != isCompleted(task)) {
+                completedDelta = wasCompleted ? -1 : 1;
+            }
         }
         if(data.description().isPresent()){
             task.setDescription(data.description().get());
@@ -100,6 +128,9 @@ public class TaskService {
         if(data.tags().isPresent()){
             task.setTags(data.tags().get());
         }
+
+        // also bumps the project version, so it runs even when the counters stay as they are
+        projectRepository.adjustTaskCounters(task.getProject().getId(), 0, completedDelta);
     }
 
     @Transactional
@@ -137,38 +168,54 @@ public class TaskService {
 
         Task savedTask = taskRepository.save(task);
 
-        return TaskMapper.toTaskResponseDTO(savedTask);
+        TaskResponseDTO response = TaskMapper.toTaskResponseDTO(savedTask);
+        eventPublisher.publishEvent(new BoardEvent(savedTask.getProject().getId(), BoardEventType.TASK_UPDATED, response));
+        return response;
+    }
+
+    private boolean isCompleted(Task task) {
+        return TaskStatus.COMPLETED.toString().equals(task.getStatus());
     }
 
     @Transactional
     public Task editTask(Task task, EditTaskPayloadDTO data){
         updateTaskData(task, data);
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+
+        eventPublisher.publishEvent(new BoardEvent(savedTask.getProject().getId(), BoardEventType.TASK_UPDATED,
+                TaskMapper.toTaskResponseDTO(savedTask)));
+        return savedTask;
     }
 
 
+    @Transactional
     public TaskListResponseDTO getTasksByProject(UUID projectId, Optional<UUID> memberId) {
         checkProjectOwnershipOrParticipation(projectId);
-        Project project = getProjectOrThrow(projectId);
 
-        List<Task> tasks;
+        List<Task> tasks = memberId
+                .map(id -> taskRepository.findByProjectIdAndResponsibleContaining(projectId, id))
+                .orElseGet(() -> taskRepository.findByProjectIdOrderByCreatedAtAscIdAsc(projectId));
 
-        if (memberId.isPresent()) {
-            tasks = taskRepository.findByProjectAndResponsibleContaining(project, memberId.get());
-        } else {
-            tasks = taskRepository.findByProject(project);
-        }
+        List<TaskResponseDTO> pending = new ArrayList<>();
+        List<TaskResponseDTO> doing = new ArrayList<>();
+        List<TaskResponseDTO> completed = new ArrayList<>();
 
-        tasks.sort(Comparator.comparing(Task::getCreatedAt));
+        for (Task task : tasks) {
+            TaskResponseDTO taskDTO = TaskMapper.toTaskResponseDTO(task);
 
-        List<Task> pending = tasks.stream().filter(task -> Objects.equals(task.getStatus(), TaskStatus.PENDING.toString())).toList();
-        List<Task> doing = tasks.stream().filter(task -> Objects.equals(task.getStatus(), TaskStatus.DOING.toString())).toList();
-        List<Task> completed = tasks.stream().filter(task -> Objects.equals(task.getStatus(), TaskStatus.COMPLETED.toString())).toList();
+            if (Objects.equals(task.getStatus(), TaskStatus.PENDING.toString())) {
+                pending.add(taskDTO);
+            } else if (Objects.equals(task.getStatus(), TaskStatus.DOING.toString())) {
+                doing.add(taskDTO);
+            } else if (Objects.equals(task.getStatus(), TaskStatus.COMPLETED.toString())) {
+                completed.add(taskDTO);
+            }
+        }
 
         return new TaskListResponseDTO(
-                pending.stream().map(TaskMapper::toTaskResponseDTO).toList(),
-                completed.stream().map(TaskMapper::toTaskResponseDTO).toList(),
-                doing.stream().map(TaskMapper::toTaskResponseDTO).toList(),
+                pending,
+                completed,
+                doing,
                 tasks.size(),
                 pending.size(),
                 doing.size(),
@@ -176,12 +223,96 @@ public class TaskService {
         );
     }
 
-    private void checkProjectOwnershipOrParticipation(UUID projectId) {
-        boolean isOwner = authService.getSessionUser().getProjects().stream().anyMatch(project -> project.getId().equals(projectId));
-        boolean isMember = authService.getSessionUser().getParticipatedProjects().stream().anyMatch(project -> project.getId().equals(projectId));
-        if (!isOwner && !isMember) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You do not have permission to access this project");
+    @Transactional
+    public TaskBoardPageResponseDTO getTaskBoardPage(
+            UUID projectId, Optional<UUID> memberId, int pendingSize, int doingSize, int completedSize) {
+        checkProjectOwnershipOrParticipation(projectId);
+
+        Map<String, Long> totals = countTasksByStatus(projectId, memberId);
+
+        Window<Task> pending = findColumnPage(projectId, TaskStatus.PENDING, memberId, ScrollPosition.keyset(), pendingSize);
+        Window<Task> doing = findColumnPage(projectId, TaskStatus.DOING, memberId, ScrollPosition.keyset(), doingSize);
+        Window<Task> completed = findColumnPage(projectId, TaskStatus.COMPLETED, memberId, ScrollPosition.keyset(), completedSize);
+
+        List<Task> tasks = new ArrayList<>(pending.getContent());
+        tasks.addAll(doing.getContent());
+        tasks.addAll(completed.getContent());
+        fetchTaskAssociations(tasks);
+
+        return new TaskBoardPageResponseDTO(
+                toColumnResponse(pending, totals.getOrDefault(TaskStatus.PENDING.toString(), 0L)),
+                toColumnResponse(doing, totals.getOrDefault(TaskStatus.DOING.toString(), 0L)),
+                toColumnResponse(completed, totals.getOrDefault(TaskStatus.COMPLETED.toString(), 0L)),
+                totals.values().stream().mapToLong(Long::longValue).sum()
+        );
+    }
+
+    @Transactional
+    public TaskColumnResponseDTO getTaskColumn(
+            UUID projectId, TaskStatus status, Optional<String> cursor, int size, Optional<UUID> memberId) {
+        checkProjectOwnershipOrParticipation(projectId);
+
+        ScrollPosition position = cursor
+                .map(TaskCursor::decode)
+                .<ScrollPosition>map(taskCursor -> ScrollPosition.forward(taskCursor.toKeys()))
+                .orElseGet(ScrollPosition::keyset);
+
+        Window<Task> window = findColumnPage(projectId, status, memberId, position, size);
+        fetchTaskAssociations(window.getContent());
+
+        // the client keeps the total of the first page while it loads more
+        Long total = cursor.isPresent() ? null : memberId
+                .map(id -> taskRepository.countByProjectIdAndStatusAndResponsibleId(projectId, status.toString(), id))
+                .orElseGet(() -> taskRepository.countByProjectIdAndStatus(projectId, status.toString()));
+        return toColumnResponse(window, total);
+    }
+
+    private Window<Task> findColumnPage(
+            UUID projectId, TaskStatus status, Optional<UUID> memberId, ScrollPosition position, int size) {
+        if (size < 1 || size > MAX_COLUMN_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page size must be between 1 and " + MAX_COLUMN_PAGE_SIZE);
+        }
+
+        return memberId
+                .map(id -> taskRepository.findByProjectIdAndStatusAndResponsibleIdOrderByCreatedAtAscIdAsc(
+                        projectId, status.toString(), id, position, Limit.of(size)))
+                .orElseGet(() -> taskRepository.findByProjectIdAndStatusOrderByCreatedAtAscIdAsc(
+                        projectId, status.toString(), position, Limit.of(size)));
+    }
+
+    private void fetchTaskAssociations(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
         }
+        taskRepository.fetchResponsible(tasks);
+        taskRepository.fetchTags(tasks);
+    }
+
+    private TaskColumnResponseDTO toColumnResponse(Window<Task> window, Long total) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            Task last = window.getContent().get(window.size() - 1);
+            nextCursor = new TaskCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new TaskColumnResponseDTO(
+                window.getContent().stream().map(TaskMapper::toTaskResponseDTO).toList(),
+                total,
+                nextCursor
+        );
+    }
+
+    private Map<String, Long> countTasksByStatus(UUID projectId, Optional<UUID> memberId) {
+        List<TaskStatusCount> counts = memberId
+                .map(id -> taskRepository.countByStatusAndResponsible(projectId, id))
+                .orElseGet(() -> taskRepository.countByStatus(projectId));
+
+        return counts.stream().collect(Collectors.toMap(TaskStatusCount::getStatus, TaskStatusCount::getTotal));
+    }
+
+    private void checkProjectOwnershipOrParticipation(UUID projectId) {
+        projectAccessService.checkOwnershipOrParticipation(authService.getSessionUserId(), projectId);
     }
 
     private Project getProjectOrThrow(UUID projectId) {
@@ -1,39 +1,80 @@
 package com.karoldm.k_board_api.services;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
 
 @Service
 public class TokenService {
-    @Value("${api.security.token.secret}")
-    private String secret;
+    private final String signingKeyId;
+    private final Algorithm signingAlgorithm;
+    private final Map<String, JWTVerifier> verifiers;
+
+    public TokenService(
+            @Value("${api.security.token.secret}") String secret,
+            @Value("${api.security.token.key-id}") String keyId,
+            @Value("${api.security.token.previous-keys}") String previousKeys) {
+        this.signingKeyId = keyId;
+        this.signingAlgorithm = Algorithm.HMAC256(secret);
+
+        Map<String, JWTVerifier> keyVerifiers = new HashMap<>();
+        keyVerifiers.put(keyId, JWT.require(signingAlgorithm).build());
+
+        // previous keys keep verifying tokens issued before a rotation, format: kid1:secret1,kid2:secret2
+        for (String entry : previousKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid token key, expected <key-id>:<secret>");
+            }
+            keyVerifiers.putIfAbsent(
+                    entry.substring(0, separator).trim(),
+                    JWT.require(Algorithm.HMAC256(entry.substring(separator + 1).trim())).build());
+        }
+
+        this.verifiers = Map.copyOf(keyVerifiers);
+    }
 
     public String generateToken(String email) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-
             return JWT.create()
+                    .withKeyId(signingKeyId)
                     .withSubject(email)
                     .withExpiresAt(generateExpirationDate())
-                    .sign(algorithm);
+                    .sign(signingAlgorithm);
         } catch(JWTCreationException exception) {
             throw new RuntimeException("Error while generating token: " + exception);
         }
     }
 
     public String validateToken(String token) {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
+        return verifyToken(token).getSubject();
+    }
+
+    public DecodedJWT verifyToken(String token) {
+        DecodedJWT decodedToken = JWT.decode(token);
+
+        // tokens issued before key ids were introduced carry no kid and belong to the signing key
+        String keyId = decodedToken.getKeyId() == null ? signingKeyId : decodedToken.getKeyId();
+        JWTVerifier verifier = verifiers.get(keyId);
+
+        if (verifier == null) {
+            throw new JWTVerificationException("Unknown token key id: " + keyId);
+        }
 
-            return JWT.require(algorithm)
-                    .build()
-                    .verify(token)
-                    .getSubject();
+        return verifier.verify(decodedToken);
     }
 
     public Instant generateExpirationDate() {
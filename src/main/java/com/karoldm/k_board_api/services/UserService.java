@@ -1,27 +1,61 @@
 package com.karoldm.k_board_api.services;
 
+import com.karoldm.k_board_api.dto.payload.CompletePhotoUploadPayloadDTO;
 import com.karoldm.k_board_api.dto.payload.EditPasswordPayloadDTO;
 import com.karoldm.k_board_api.dto.payload.EditUserPayloadDTO;
+import com.karoldm.k_board_api.dto.payload.PhotoUploadIntentPayloadDTO;
+import com.karoldm.k_board_api.dto.response.PhotoUploadIntentResponseDTO;
 import com.karoldm.k_board_api.dto.response.UserResponseDTO;
 import com.karoldm.k_board_api.entities.User;
 import com.karoldm.k_board_api.exceptions.InvalidPasswordException;
+import com.karoldm.k_board_api.infra.security.SessionUserCache;
+import com.karoldm.k_board_api.infra.storage.StorageBackend;
 import com.karoldm.k_board_api.mappers.UserMapper;
+import com.karoldm.k_board_api.repositories.ProjectRepository;
 import com.karoldm.k_board_api.repositories.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
-    private final FileStorageService storageService;
+    private final ProjectRepository projectRepository;
+    private final StorageOutboxService storageOutboxService;
     private final AuthService authService;
+    private final SessionUserCache sessionUserCache;
+    private final PasswordHashingService passwordHashingService;
+    private final FileStorageService storageService;
+    private final PhotoThumbnailService thumbnailService;
 
     private final int MIN_PASSWORD_SIZE = 8;
 
-    @Transactional
+    private static final String PHOTO_KEY_PREFIX = "avatars/";
+    private static final Map<String, String> PHOTO_EXTENSIONS = Map.of(
+            "image/jpeg", ".jpg",
+            "image/png", ".png",
+            "image/webp", ".webp"
+    );
+    private static final Pattern PHOTO_FILE_NAME = Pattern.compile("[0-9a-f-]{36}\\.(jpg|png|webp)");
+
+    @Value("${api.storage.photo.max-size-bytes}")
+    private long maxPhotoSize;
+
+    @Value("${api.storage.photo.upload-url-validity}")
+    private Duration uploadUrlValidity;
+
+    // not transactional, the hash is computed before save() opens the transaction
     public void updatePassword(EditPasswordPayloadDTO editPasswordPayloadDTO) {
         User user = authService.getSessionUser();
 
@@ -29,10 +63,11 @@ public class UserService {
             throw new InvalidPasswordException("The password must have at least 8 character.");
         }
 
-        String encryptedPassword = new BCryptPasswordEncoder().encode(editPasswordPayloadDTO.password());
+        String encryptedPassword = passwordHashingService.encode(editPasswordPayloadDTO.password());
         user.setPassword(encryptedPassword);
 
         userRepository.save(user);
+        sessionUserCache.evict(user.getEmail());
     }
 
     @Transactional
@@ -41,19 +76,66 @@ public class UserService {
 
         if (editUserPayloadDTO.name() != null) {
             user.setName(editUserPayloadDTO.name());
-        }
-
-        if (editUserPayloadDTO.photo() != null) {
-            if (user.getPhotoUrl() != null && !user.getPhotoUrl().isEmpty()) {
-                storageService.removeFileByUrl(user.getPhotoUrl());
-            }
-            String photoKey = storageService.uploadFile(editUserPayloadDTO.photo());
-            user.setPhotoUrl(photoKey);
+            projectRepository.bumpVersionsShowingUser(user.getId());
         }
 
         User saveduser = userRepository.save(user);
 
+        // the current photo stays until the new one is uploaded, the worker then swaps and deletes it
+        storageOutboxService.enqueueUserPhoto(saveduser, editUserPayloadDTO.photo());
+        sessionUserCache.evict(saveduser.getEmail());
+
         return UserMapper.toUserResponseDTO(saveduser);
     }
 
+    /**
+     * Lets the client upload a new photo straight to storage. Nothing is stored until
+     * {@link #completePhotoUpload} checks what actually arrived.
+     */
+    public PhotoUploadIntentResponseDTO createPhotoUploadIntent(PhotoUploadIntentPayloadDTO payload) {
+        validatePhoto(payload.contentType(), payload.size());
+
+        String key = PHOTO_KEY_PREFIX + authService.getSessionUserId() + "/" + UUID.randomUUID()
+                + PHOTO_EXTENSIONS.get(payload.contentType());
+        StorageBackend.PresignedUpload upload = storageService.presignUpload(key, payload.contentType(), uploadUrlValidity);
+
+        return new PhotoUploadIntentResponseDTO(key, upload.url(), payload.contentType(),
+                OffsetDateTime.ofInstant(upload.expiresAt(), ZoneOffset.UTC));
+    }
+
+    public UserResponseDTO completePhotoUpload(CompletePhotoUploadPayloadDTO payload) {
+        UUID userId = authService.getSessionUserId();
+        String key = payload.key();
+        String ownPrefix = PHOTO_KEY_PREFIX + userId + "/";
+
+        if (!key.startsWith(ownPrefix) || !PHOTO_FILE_NAME.matcher(key.substring(ownPrefix.length())).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown photo upload.");
+        }
+
+        // asked before the first query, once the request holds a connection it keeps it until the response
+        FileStorageService.FileMetadata metadata = storageService.getFileMetadata(key)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "The photo was not uploaded."));
+        try {
+            validatePhoto(metadata.contentType(), metadata.size());
+        } catch (ResponseStatusException ex) {
+            storageService.removeFileByUrl(storageService.urlOf(key));
+            throw ex;
+        }
+
+        User user = storageOutboxService.replaceUserPhoto(userId, storageService.urlOf(key));
+        if (!user.isPhotoThumbnails()) {
+            thumbnailService.generateInBackground(userId, user.getPhotoUrl());
+        }
+        return UserMapper.toUserResponseDTO(user);
+    }
+
+    private void validatePhoto(String contentType, long size) {
+        if (contentType == null || !PHOTO_EXTENSIONS.containsKey(contentType)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The photo must be a JPEG, PNG or WebP image.");
+        }
+        if (size > maxPhotoSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.format("The photo must have at most %d bytes.", maxPhotoSize));
+        }
+    }
 }
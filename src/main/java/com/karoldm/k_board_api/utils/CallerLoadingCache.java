@@ -0,0 +1,37 @@
+package com.karoldm.k_board_api.utils;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Loads a missing entry on the calling thread after a pending future is in place, instead of
+ * inside Caffeine's compute, which holds a map lock and would pin a virtual thread for the whole
+ * load. Concurrent callers for the same key still wait for that single load, and a {@code null}
+ * result is not kept.
+ */
+public class CallerLoadingCache {
+    private CallerLoadingCache(){}
+
+    public static <K, V> V get(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> entry = cache.get(key, (ignored, executor) -> loading);
+
+        if (entry == loading) {
+            try {
+                loading.complete(loader.apply(key));
+            } catch (RuntimeException ex) {
+                loading.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+
+        try {
+            return entry.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+}
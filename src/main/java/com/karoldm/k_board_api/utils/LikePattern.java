@@ -0,0 +1,26 @@
+package com.karoldm.k_board_api.utils;
+
+import java.util.Locale;
+
+/**
+ * Builds lower-cased LIKE patterns escaped with '\', matching the
+ * lower(title) trigram index used by project search.
+ */
+public class LikePattern {
+    private LikePattern(){}
+
+    public static String contains(String value) {
+        return "%" + escape(value) + "%";
+    }
+
+    public static String startsWith(String value) {
+        return escape(value) + "%";
+    }
+
+    private static String escape(String value) {
+        return value.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
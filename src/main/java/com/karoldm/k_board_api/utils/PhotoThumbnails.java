@@ -0,0 +1,53 @@
+package com.karoldm.k_board_api.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Naming of the pre-rendered photo sizes. A thumbnail lives next to its photo with a
+ * {@code .thumb-<size>.jpg} suffix, so both its URL and its source follow from the name alone.
+ */
+public class PhotoThumbnails {
+    public static final List<Integer> SIZES = List.of(256, 64, 32);
+
+    private static final Pattern THUMBNAIL = Pattern.compile("(.+)\\.thumb-\\d+\\.jpg");
+
+    private PhotoThumbnails(){}
+
+    public static String urlFor(String photoUrl, int size) {
+        return photoUrl + ".thumb-" + size + ".jpg";
+    }
+
+    /** The photo a thumbnail was rendered from, or {@code url} itself when it is not a thumbnail. */
+    public static String sourceOf(String url) {
+        Matcher matcher = THUMBNAIL.matcher(url);
+        return matcher.matches() ? matcher.group(1) : url;
+    }
+
+    public static List<String> withThumbnails(String photoUrl) {
+        List<String> urls = new ArrayList<>(SIZES.size() + 1);
+        urls.add(photoUrl);
+        SIZES.forEach(size -> urls.add(urlFor(photoUrl, size)));
+        return urls;
+    }
+
+    /**
+     * URL per size, falling back to the original photo until its thumbnails are stored so
+     * clients can always pick the size-specific field.
+     */
+    public static Map<Integer, String> urlsFor(String photoUrl, boolean thumbnailsReady) {
+        if (photoUrl == null || photoUrl.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Integer, String> urls = new LinkedHashMap<>();
+        for (int size : SIZES) {
+            urls.put(size, thumbnailsReady ? urlFor(photoUrl, size) : photoUrl);
+        }
+        return urls;
+    }
+}
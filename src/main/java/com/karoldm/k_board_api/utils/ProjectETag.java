@@ -0,0 +1,26 @@
+package com.karoldm.k_board_api.utils;
+
+import org.springframework.http.CacheControl;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Strong ETags of project reads, built from the project's version stamp and whatever else
+ * selects the representation. Clients may keep the response but must revalidate it.
+ */
+public class ProjectETag {
+    public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private ProjectETag(){}
+
+    public static String of(long version) {
+        return "\"v" + version + "\"";
+    }
+
+    public static String of(long version, Optional<UUID> memberId) {
+        return memberId
+                .map(id -> "\"v" + version + "-" + id + "\"")
+                .orElseGet(() -> of(version));
+    }
+}
@@ -0,0 +1,42 @@
+package com.karoldm.k_board_api.utils;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public record TaskCursor(OffsetDateTime createdAt, UUID id) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String value = createdAt.toInstant() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Map<String, Object> toKeys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdAt", createdAt);
+        keys.put("id", id);
+        return keys;
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+
+            return new TaskCursor(
+                    OffsetDateTime.ofInstant(Instant.parse(value.substring(0, separator)), ZoneOffset.UTC),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor.");
+        }
+    }
+}
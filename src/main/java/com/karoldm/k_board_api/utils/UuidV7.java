@@ -0,0 +1,34 @@
+package com.karoldm.k_board_api.utils;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 version 7 UUIDs: a 48-bit unix millisecond timestamp followed by a
+ * 12-bit sequence and 62 random bits. Ids generated by this JVM are strictly
+ * increasing, so inserts append to the right edge of the primary-key B-tree.
+ */
+public class UuidV7 {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // unix millis << 12 | sequence of the last generated id
+    private static final AtomicLong LAST_STAMP = new AtomicLong();
+
+    private UuidV7(){}
+
+    public static UUID randomUuid() {
+        long now = System.currentTimeMillis() << 12;
+        // same millisecond or clock moved back: bump the sequence, overflowing into the timestamp
+        long stamp = LAST_STAMP.updateAndGet(last -> Math.max(last + 1, now));
+
+        long mostSigBits = (stamp >>> 12) << 16 | 0x7000L | (stamp & 0xFFFL);
+        long leastSigBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
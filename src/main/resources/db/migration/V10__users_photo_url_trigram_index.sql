@@ -0,0 +1,3 @@
+-- storage orphan cleanup: findReferencedPhotoKeys matches keys against the end of photo_url
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_photo_url_trgm
+    ON users USING gin (photo_url gin_trgm_ops);
@@ -0,0 +1,56 @@
+CREATE TABLE users (
+    id uuid NOT NULL,
+    name varchar(255) NOT NULL,
+    email varchar(255) NOT NULL,
+    password varchar(255) NOT NULL,
+    photo_url varchar(255),
+    created_at timestamp(6) with time zone,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE projects (
+    id uuid NOT NULL,
+    title varchar(255) NOT NULL,
+    created_at timestamp(6) with time zone,
+    total_tasks integer NOT NULL DEFAULT 0,
+    completed_tasks integer NOT NULL DEFAULT 0,
+    owner_id uuid NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_projects_owner FOREIGN KEY (owner_id) REFERENCES users
+);
+
+CREATE TABLE project_participation (
+    project_id uuid NOT NULL,
+    user_id uuid NOT NULL,
+    PRIMARY KEY (project_id, user_id),
+    CONSTRAINT fk_project_participation_project FOREIGN KEY (project_id) REFERENCES projects,
+    CONSTRAINT fk_project_participation_user FOREIGN KEY (user_id) REFERENCES users
+);
+
+CREATE TABLE tasks (
+    id uuid NOT NULL,
+    title varchar(255) NOT NULL,
+    description varchar(255) NOT NULL,
+    color varchar(255) NOT NULL,
+    status varchar(255) NOT NULL,
+    created_at timestamp(6) with time zone,
+    project_id uuid NOT NULL,
+    user_id uuid NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_tasks_project FOREIGN KEY (project_id) REFERENCES projects,
+    CONSTRAINT fk_tasks_created_by FOREIGN KEY (user_id) REFERENCES users
+);
+
+CREATE TABLE tasks_tags (
+    tasks_id uuid NOT NULL,
+    tags varchar(255),
+    CONSTRAINT fk_tasks_tags_task FOREIGN KEY (tasks_id) REFERENCES tasks
+);
+
+CREATE TABLE task_atribuization (
+    task_id uuid NOT NULL,
+    user_id uuid NOT NULL,
+    PRIMARY KEY (task_id, user_id),
+    CONSTRAINT fk_task_atribuization_task FOREIGN KEY (task_id) REFERENCES tasks,
+    CONSTRAINT fk_task_atribuization_user FOREIGN KEY (user_id) REFERENCES users
+);
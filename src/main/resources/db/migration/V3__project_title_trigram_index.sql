@@ -0,0 +1,3 @@
+-- serves lower(title) LIKE '%x%' / 'x%' and the word similarity operator used by ranked search
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_title_trgm
+    ON projects USING gin (lower(title) gin_trgm_ops);
@@ -0,0 +1,25 @@
+-- task board: findByProjectIdOrderByCreatedAtAscIdAsc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_project_created
+    ON tasks (project_id, created_at, id);
+
+-- board columns and status counts: findByProjectIdAndStatusOrderByCreatedAtAscIdAsc, countByStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_project_status_created
+    ON tasks (project_id, status, created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user
+    ON tasks (user_id);
+
+-- responsible filter: findByProjectIdAndResponsibleContaining, countByStatusAndResponsible
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_atribuization_user_task
+    ON task_atribuization (user_id, task_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_tags_task
+    ON tasks_tags (tasks_id);
+
+-- member listing and access checks
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_project_participation_user_project
+    ON project_participation (user_id, project_id);
+
+-- owner listing sorted by creation date
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_owner_created
+    ON projects (owner_id, created_at);
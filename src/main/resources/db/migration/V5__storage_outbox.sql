@@ -0,0 +1,18 @@
+-- object-storage work that must not run inside a database transaction, drained by StorageOutboxWorker
+CREATE TABLE storage_outbox (
+    id uuid NOT NULL,
+    operation varchar(32) NOT NULL,
+    user_id uuid,
+    staged_path varchar(1024),
+    file_name varchar(255),
+    content_type varchar(255),
+    object_url varchar(1024),
+    attempts int NOT NULL DEFAULT 0,
+    next_attempt_at timestamp(6) with time zone NOT NULL,
+    last_error varchar(1024),
+    created_at timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_storage_outbox_next_attempt ON storage_outbox (next_attempt_at);
+CREATE INDEX idx_storage_outbox_user ON storage_outbox (user_id);
@@ -0,0 +1,3 @@
+-- storage orphan cleanup: findPhotoUrlsIn, one lookup per listing page of up to 1000 objects
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_photo_url
+    ON users (photo_url);
@@ -0,0 +1,2 @@
+-- set once the pre-rendered sizes of photo_url are stored, a constant default keeps this a catalog-only change
+ALTER TABLE users ADD COLUMN photo_thumbnails boolean NOT NULL DEFAULT false;
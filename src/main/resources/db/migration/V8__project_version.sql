@@ -0,0 +1,2 @@
+-- bumped by every change to a project's board, validates the ETags of project and task reads
+ALTER TABLE projects ADD COLUMN version bigint NOT NULL DEFAULT 0;
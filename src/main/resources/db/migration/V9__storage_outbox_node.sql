@@ -0,0 +1,2 @@
+-- staged photos live on the disk of the node that received them, only that node can upload them
+ALTER TABLE storage_outbox ADD COLUMN node_id varchar(255);
@@ -1,11 +1,23 @@
 package com.karoldm.k_board_api;
 
+import com.karoldm.k_board_api.support.EmbeddedPostgresDatabase;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+		"api.aws.access-key=test",
+		"api.aws.secret-key=test",
+		"api.aws.bucket-url=http://localhost"
+})
 class KBoardApiApplicationTests {
 
+	@DynamicPropertySource
+	static void postgresProperties(DynamicPropertyRegistry registry) {
+		EmbeddedPostgresDatabase.register(registry);
+	}
+
 	@Test
 	void contextLoads() {
 	}
@@ -0,0 +1,275 @@
+package com.karoldm.k_board_api.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.karoldm.k_board_api.entities.Project;
+import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.enums.BoardEventType;
+import com.karoldm.k_board_api.repositories.ProjectRepository;
+import com.karoldm.k_board_api.repositories.UserRepository;
+import com.karoldm.k_board_api.services.BoardEventService;
+import com.karoldm.k_board_api.services.TokenService;
+import com.karoldm.k_board_api.support.EmbeddedPostgresDatabase;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "api.aws.access-key=test",
+        "api.aws.secret-key=test",
+        "api.aws.bucket-url=http://localhost",
+        "api.board-events.buffer-size=4",
+        "api.board-events.heartbeat-interval=PT0.2S",
+        "api.board-events.send-timeout=PT1S"
+})
+@Timeout(value = 60, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+class BoardEventsControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private BoardEventService boardEventService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<AutoCloseable> streams = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (AutoCloseable stream : streams) {
+            stream.close();
+        }
+    }
+
+    @Test
+    void shouldStreamTaskChangesToProjectMembers() throws Exception {
+        User owner = createUser("owner");
+        User member = createUser("member");
+        Project project = createProject(owner, member);
+
+        Iterator<String> ownerEvents = subscribe(project, owner);
+        Iterator<String> memberEvents = subscribe(project, member);
+        assertEquals(":connected", nextEventLine(ownerEvents));
+        assertEquals(":connected", nextEventLine(memberEvents));
+
+        HttpResponse<String> created = send(HttpRequest.newBuilder(uri("/task"))
+                .header("Authorization", bearer(owner))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"projectId": "%s", "title": "Ação", "description": "description", "color": "#000",
+                         "tags": ["backend"], "membersId": []}
+                        """.formatted(project.getId()))));
+        assertEquals(200, created.statusCode());
+
+        assertEquals("event:task-created", nextEventLine(memberEvents));
+        String data = memberEvents.next();
+        assertTrue(data.startsWith("data:{") && data.contains("\"title\":\"Ação\""), data);
+        assertEquals("event:task-created", nextEventLine(ownerEvents));
+
+        String taskId = objectMapper.readTree(data.substring("data:".length())).get("id").asText();
+        send(HttpRequest.newBuilder(uri("/task/" + taskId)).header("Authorization", bearer(owner)).DELETE());
+        assertEquals("event:task-deleted", nextEventLine(memberEvents));
+        assertEquals("data:{\"id\":\"" + taskId + "\"}", memberEvents.next());
+    }
+
+    @Test
+    void shouldEndTheStreamsOfRemovedMembersAndRefuseOutsiders() throws Exception {
+        User owner = createUser("owner");
+        User member = createUser("member");
+        Project project = createProject(owner, member);
+
+        HttpResponse<String> outsider = send(HttpRequest.newBuilder(uri("/task/" + project.getId() + "/events"))
+                .header("Authorization", bearer(createUser("outsider")))
+                .header("Accept", "text/event-stream").GET());
+        assertEquals(403, outsider.statusCode());
+
+        Iterator<String> ownerEvents = subscribe(project, owner);
+        Iterator<String> memberEvents = subscribe(project, member);
+        assertEquals(":connected", nextEventLine(ownerEvents));
+        assertEquals(":connected", nextEventLine(memberEvents));
+        while (!":heartbeat".equals(memberEvents.next())) {
+            // heartbeats arrive on the configured interval
+        }
+
+        send(HttpRequest.newBuilder(uri("/project/" + project.getId()))
+                .header("Authorization", bearer(owner))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("""
+                        {"title": "Renamed", "membersIdToRemove": ["%s"]}
+                        """.formatted(member.getId()))));
+
+        assertEquals("event:project-updated", nextEventLine(ownerEvents));
+        assertTrue(ownerEvents.next().contains("\"title\":\"Renamed\""));
+        while (memberEvents.hasNext()) {
+            assertNotEquals("event:project-updated", memberEvents.next());
+        }
+    }
+
+    @Test
+    void shouldDisconnectSubscribersThatStopReading() throws Exception {
+        User owner = createUser("owner");
+        Project project = createProject(owner, createUser("member"));
+
+        subscribeWithoutReading(project, owner);
+        awaitSubscriberCount(project, 1);
+
+        String description = "x".repeat(64 * 1024);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (boardEventService.getSubscriberCount(project.getId()) > 0 && System.nanoTime() < deadline) {
+            boardEventService.onBoardEvent(new BoardEventService.BoardEvent(
+                    project.getId(), BoardEventType.TASK_UPDATED, Map.of("description", description)));
+        }
+
+        assertEquals(0, boardEventService.getSubscriberCount(project.getId()));
+        assertTrue(meterRegistry.get("board.events.evictions").counter().count() >= 1);
+    }
+
+    @Test
+    void shouldKeepDeliveringWhileClientsAreStalled() throws Exception {
+        User owner = createUser("owner");
+        Project stalledProject = createProject(owner, createUser("member"));
+        // more stalled connections than dispatcher threads
+        for (int i = 0; i < 8; i++) {
+            subscribeWithoutReading(stalledProject, owner);
+        }
+        awaitSubscriberCount(stalledProject, 8);
+
+        // a few large events stay below the buffer size and leave every write pending on a full socket
+        String description = "x".repeat(1024 * 1024);
+        for (int i = 0; i < 3; i++) {
+            boardEventService.onBoardEvent(new BoardEventService.BoardEvent(
+                    stalledProject.getId(), BoardEventType.TASK_UPDATED, Map.of("description", description)));
+        }
+
+        User other = createUser("other");
+        Project project = createProject(other, createUser("member"));
+        Iterator<String> events = subscribe(project, other);
+        assertEquals(":connected", nextEventLine(events));
+        boardEventService.onBoardEvent(new BoardEventService.BoardEvent(
+                project.getId(), BoardEventType.PROJECT_UPDATED, Map.of("title", "Renamed")));
+        assertEquals("event:project-updated", nextEventLine(events));
+
+        // the watchdog disconnects them once their writes were pending for the send timeout
+        awaitSubscriberCount(stalledProject, 0);
+        assertEquals(1, boardEventService.getSubscriberCount(project.getId()));
+    }
+
+    // a raw connection whose response is never read fills the socket buffers, then its event buffer
+    private Socket subscribeWithoutReading(Project project, User user) throws Exception {
+        Socket socket = new Socket("localhost", port);
+        streams.add(socket);
+        socket.setReceiveBufferSize(4096);
+        OutputStream request = socket.getOutputStream();
+        request.write(("GET /task/" + project.getId() + "/events HTTP/1.1\r\nHost: localhost\r\n"
+                + "Accept: text/event-stream\r\nAuthorization: " + bearer(user) + "\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        request.flush();
+        return socket;
+    }
+
+    private Iterator<String> subscribe(Project project, User user) throws Exception {
+        HttpResponse<Stream<String>> response = client.send(HttpRequest.newBuilder(uri("/task/" + project.getId() + "/events"))
+                .header("Authorization", bearer(user))
+                .header("Accept", "text/event-stream")
+                .GET().build(), HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElseThrow().startsWith("text/event-stream"));
+        streams.add(response.body());
+        return response.body().iterator();
+    }
+
+    // skips blank separators, the reconnect delay and heartbeats
+    private static String nextEventLine(Iterator<String> events) {
+        while (events.hasNext()) {
+            String line = events.next();
+            if (!line.isEmpty() && !line.startsWith("retry:") && !line.equals(":heartbeat")) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    private void awaitSubscriberCount(Project project, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (boardEventService.getSubscriberCount(project.getId()) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(expected, boardEventService.getSubscriberCount(project.getId()));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private Project createProject(User owner, User member) {
+        return projectRepository.save(Project.builder()
+                .title("Project")
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .owner(owner)
+                .members(new HashSet<>(Set.of(member)))
+                .build());
+    }
+
+    private User createUser(String name) {
+        return userRepository.save(User.builder()
+                .name(name)
+                .email(name + "-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .build());
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + tokenService.generateToken(user.getEmail());
+    }
+}
@@ -0,0 +1,189 @@
+package com.karoldm.k_board_api.controllers;
+
+import com.karoldm.k_board_api.entities.Project;
+import com.karoldm.k_board_api.entities.Task;
+import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.enums.TaskStatus;
+import com.karoldm.k_board_api.repositories.ProjectRepository;
+import com.karoldm.k_board_api.repositories.TaskRepository;
+import com.karoldm.k_board_api.repositories.UserRepository;
+import com.karoldm.k_board_api.services.TokenService;
+import com.karoldm.k_board_api.support.EmbeddedPostgresDatabase;
+import com.karoldm.k_board_api.support.QueryBudget;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "api.aws.access-key=test",
+        "api.aws.secret-key=test",
+        "api.aws.bucket-url=http://localhost",
+        "api.sql.query-count-header=true"
+})
+@AutoConfigureMockMvc
+class ControllerQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @Test
+    void shouldListOwnedProjectsWithinStatementBudget() throws Exception {
+        User owner = createUser("owner");
+        for (int i = 0; i < 50; i++) {
+            createProject(owner, 0);
+        }
+
+        mockMvc.perform(get("/project/owner?size=50").header("Authorization", bearer(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(50))
+                .andExpect(QueryBudget.statementsAtMost(5));
+    }
+
+    @Test
+    void shouldLoadTasksWithinStatementBudgetRegardlessOfTaskCount() throws Exception {
+        User owner = createUser("owner");
+
+        for (int taskCount : new int[]{1, 100}) {
+            Project project = createProject(owner, taskCount);
+
+            mockMvc.perform(get("/task/" + project.getId()).header("Authorization", bearer(owner)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(taskCount))
+                    // the version lookup behind the ETag comes on top of the task queries
+                    .andExpect(QueryBudget.statementsAtMost(6));
+        }
+    }
+
+    @Test
+    void shouldLoadBoardPageWithinStatementBudget() throws Exception {
+        User owner = createUser("owner");
+        Project project = createProject(owner, 60);
+
+        mockMvc.perform(get("/task/" + project.getId() + "/board").header("Authorization", bearer(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(60))
+                .andExpect(QueryBudget.statementsAtMost(8));
+    }
+
+    @Test
+    void shouldAnswerUnchangedBoardPollsWithNotModified() throws Exception {
+        User owner = createUser("owner");
+        Project project = createProject(owner, 20);
+
+        String etag = mockMvc.perform(get("/task/" + project.getId()).header("Authorization", bearer(owner)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/task/" + project.getId()).header("Authorization", bearer(owner))
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""))
+                .andExpect(QueryBudget.statementsAtMost(2));
+
+        mockMvc.perform(get("/task/" + project.getId() + "?memberId=" + owner.getId()).header("Authorization", bearer(owner))
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        transactionTemplate.executeWithoutResult(status -> projectRepository.bumpVersion(project.getId()));
+
+        mockMvc.perform(get("/task/" + project.getId()).header("Authorization", bearer(owner))
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(20));
+        mockMvc.perform(get("/project/" + project.getId()).header("Authorization", bearer(owner))
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    private Project createProject(User detachedOwner, int taskCount) {
+        return transactionTemplate.execute(status -> {
+            User owner = userRepository.getReferenceById(detachedOwner.getId());
+            return createProjectInTransaction(owner, taskCount);
+        });
+    }
+
+    private Project createProjectInTransaction(User owner, int taskCount) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        User member = createUser("member");
+        Project project = projectRepository.save(Project.builder()
+                .title("Project")
+                .createdAt(now)
+                .owner(owner)
+                .members(new HashSet<>(Set.of(member)))
+                .build());
+
+        TaskStatus[] statuses = TaskStatus.values();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(Task.builder()
+                    .title("Task " + i)
+                    .description("description")
+                    .color("#000")
+                    .status(statuses[i % statuses.length].toString())
+                    .createdAt(now.plusSeconds(i))
+                    .tags(new HashSet<>(Set.of("backend", "tag-" + i)))
+                    .project(project)
+                    .createdBy(owner)
+                    .responsible(new HashSet<>(Set.of(owner, member)))
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+        return project;
+    }
+
+    private User createUser(String name) {
+        return userRepository.save(User.builder()
+                .name(name)
+                .email(name + "-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .build());
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + tokenService.generateToken(user.getEmail());
+    }
+}
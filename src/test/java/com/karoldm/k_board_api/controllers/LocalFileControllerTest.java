@@ -0,0 +1,126 @@
+package com.karoldm.k_board_api.controllers;
+
+import com.karoldm.k_board_api.infra.storage.StorageBackend;
+import com.karoldm.k_board_api.services.FileStorageService;
+import com.karoldm.k_board_api.support.EmbeddedPostgresDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "api.storage.backend=local",
+        "api.storage.local.max-upload-bytes=100000"
+})
+class LocalFileControllerTest {
+    private static final Path ROOT = createRoot();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FileStorageService storageService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.register(registry);
+        registry.add("api.storage.local.root", ROOT::toString);
+        registry.add("api.storage.local.public-url", () -> "http://localhost/files/");
+    }
+
+    @Test
+    void shouldServeStoredFilesWithRangesAndConditionalRequests() throws Exception {
+        byte[] content = new byte[70_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        storageService.putFile("avatars/served.png", content, "image/png");
+
+        HttpResponse<byte[]> full = send(HttpRequest.newBuilder(uri("avatars/served.png")).GET());
+        assertEquals(200, full.statusCode());
+        assertArrayEquals(content, full.body());
+        assertEquals(Optional.of("image/png"), full.headers().firstValue("Content-Type"));
+        assertEquals(Optional.of("bytes"), full.headers().firstValue("Accept-Ranges"));
+        String etag = full.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<byte[]> partial = send(HttpRequest.newBuilder(uri("avatars/served.png")).header("Range", "bytes=100-199").GET());
+        assertEquals(206, partial.statusCode());
+        assertEquals(Optional.of("bytes 100-199/70000"), partial.headers().firstValue("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(content, 100, 200), partial.body());
+
+        HttpResponse<byte[]> suffix = send(HttpRequest.newBuilder(uri("avatars/served.png")).header("Range", "bytes=-10").GET());
+        assertEquals(206, suffix.statusCode());
+        assertArrayEquals(Arrays.copyOfRange(content, 69_990, 70_000), suffix.body());
+
+        HttpResponse<byte[]> staleRange = send(HttpRequest.newBuilder(uri("avatars/served.png"))
+                .header("Range", "bytes=0-9").header("If-Range", "\"other\"").GET());
+        assertEquals(200, staleRange.statusCode());
+        assertEquals(content.length, staleRange.body().length);
+
+        HttpResponse<byte[]> outside = send(HttpRequest.newBuilder(uri("avatars/served.png")).header("Range", "bytes=80000-").GET());
+        assertEquals(416, outside.statusCode());
+
+        HttpResponse<byte[]> notModified = send(HttpRequest.newBuilder(uri("avatars/served.png")).header("If-None-Match", etag).GET());
+        assertEquals(304, notModified.statusCode());
+        assertEquals(0, notModified.body().length);
+    }
+
+    @Test
+    void shouldOnlyAcceptUploadsWithAValidSignature() throws Exception {
+        StorageBackend.PresignedUpload presigned = storageService.presignUpload("avatars/uploaded.png", "image/png", Duration.ofMinutes(5));
+        URI uploadUrl = URI.create(presigned.url().replace("http://localhost/", "http://localhost:" + port + "/"));
+
+        HttpResponse<byte[]> wrongType = send(HttpRequest.newBuilder(uploadUrl)
+                .header("Content-Type", "image/jpeg").PUT(HttpRequest.BodyPublishers.ofByteArray(new byte[]{1})));
+        assertEquals(403, wrongType.statusCode());
+
+        HttpResponse<byte[]> tooLarge = send(HttpRequest.newBuilder(uploadUrl)
+                .header("Content-Type", "image/png").PUT(HttpRequest.BodyPublishers.ofByteArray(new byte[100_001])));
+        assertEquals(413, tooLarge.statusCode());
+        assertTrue(storageService.getFileMetadata("avatars/uploaded.png").isEmpty());
+
+        HttpResponse<byte[]> accepted = send(HttpRequest.newBuilder(uploadUrl)
+                .header("Content-Type", "image/png").PUT(HttpRequest.BodyPublishers.ofByteArray(new byte[]{1, 2, 3})));
+        assertEquals(200, accepted.statusCode());
+        assertEquals(Optional.of(new FileStorageService.FileMetadata(3, "image/png")),
+                storageService.getFileMetadata("avatars/uploaded.png"));
+    }
+
+    @Test
+    void shouldNotServeUnknownOrHiddenFiles() throws Exception {
+        assertEquals(404, send(HttpRequest.newBuilder(uri(".incoming/anything")).GET()).statusCode());
+        assertEquals(404, send(HttpRequest.newBuilder(uri("missing.png")).GET()).statusCode());
+    }
+
+    private URI uri(String key) {
+        return URI.create("http://localhost:" + port + "/files/" + key);
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static Path createRoot() {
+        try {
+            return Files.createTempDirectory("k-board-files").resolve("root");
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.karoldm.k_board_api.infra.observability;
+
+import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.repositories.UserRepository;
+import com.karoldm.k_board_api.services.TokenService;
+import com.karoldm.k_board_api.support.EmbeddedPostgresDatabase;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "api.aws.access-key=test",
+        "api.aws.secret-key=test",
+        "api.aws.bucket-url=http://localhost"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Import(ObservabilityIntegrationTest.InMemoryTracingConfig.class)
+class ObservabilityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @Test
+    void shouldCountStatementsIssuedThroughTheDataSource() throws Exception {
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"nobody@example.com\",\"password\":\"secret123\"}"))
+                .andExpect(header().string(SqlStatisticsFilter.QUERY_COUNT_HEADER, "1"));
+    }
+
+    @Test
+    void shouldTraceRequestThroughTokenVerificationAndServices() throws Exception {
+        spanExporter.reset();
+
+        mockMvc.perform(get("/project/owner").header("Authorization", "Bearer " + createUserToken()))
+                .andExpect(status().isOk());
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        List<String> spanNames = spanExporter.getFinishedSpanItems().stream().map(SpanData::getName).toList();
+        assertTrue(spanNames.contains("token verification"), spanNames.toString());
+        assertTrue(spanNames.contains("project-service#get-all-projects-by-user"), spanNames.toString());
+        assertTrue(spanNames.stream().anyMatch(name -> name.startsWith("http get")), spanNames.toString());
+    }
+
+    @Test
+    void shouldExportMetricsInPrometheusFormat() throws Exception {
+        mockMvc.perform(get("/project/owner").header("Authorization", "Bearer " + createUserToken()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/project/owner\"")))
+                .andExpect(content().string(containsString("kboard_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("kboard_token_verification_seconds_count{")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_count{")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("http_server_requests_sql_statements_count{")));
+    }
+
+    private String createUserToken() {
+        User user = userRepository.save(User.builder()
+                .name("observer")
+                .email("observer-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .build());
+        return tokenService.generateToken(user.getEmail());
+    }
+
+    @TestConfiguration
+    static class InMemoryTracingConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.karoldm.k_board_api.infra.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatisticsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatisticsListener listener = new SqlStatisticsListener(1000);
+
+    @Test
+    void shouldReportStatementsExecutedByRequest() throws Exception {
+        SqlStatisticsFilter filter = new SqlStatisticsFilter(meterRegistry, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/task/board"), response, (req, res) -> {
+            executeStatement("select * from tasks where project_id=?");
+            executeStatement("select * from users where id=?");
+            res.getWriter().write("{}");
+        });
+
+        assertEquals("2", response.getHeader(SqlStatisticsFilter.QUERY_COUNT_HEADER));
+        assertEquals("{}", response.getContentAsString());
+
+        DistributionSummary statements = meterRegistry.get("http.server.requests.sql.statements")
+                .tag("handler", "none")
+                .summary();
+        assertEquals(1, statements.count());
+        assertEquals(2, statements.totalAmount());
+    }
+
+    @Test
+    void shouldOmitHeaderWhenDisabled() throws Exception {
+        SqlStatisticsFilter filter = new SqlStatisticsFilter(meterRegistry, false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/project/owner"), response,
+                (req, res) -> executeStatement("select 1"));
+
+        assertNull(response.getHeader(SqlStatisticsFilter.QUERY_COUNT_HEADER));
+        assertEquals(1, meterRegistry.get("http.server.requests.sql.time").timer().count());
+    }
+
+    @Test
+    void shouldNotBufferEventStreamsWithoutAcceptHeader() throws Exception {
+        SqlStatisticsFilter filter = new SqlStatisticsFilter(meterRegistry, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/task/" + UUID.randomUUID() + "/events"), response,
+                (req, res) -> assertSame(response, res));
+
+        assertNull(response.getHeader(SqlStatisticsFilter.QUERY_COUNT_HEADER));
+    }
+
+    @Test
+    void shouldRedactLiteralsFromLoggedStatements() {
+        assertEquals("select * from users where email = ? and age > ? and t1_0.id=?",
+                SqlStatisticsListener.redact("select * from users where email = 'it''s@me.com' and age > 18 and t1_0.id=?"));
+    }
+
+    private void executeStatement(String sql) {
+        ExecutionInfo execInfo = new ExecutionInfo();
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        listener.beforeQuery(execInfo, queries);
+        listener.afterQuery(execInfo, queries);
+    }
+}
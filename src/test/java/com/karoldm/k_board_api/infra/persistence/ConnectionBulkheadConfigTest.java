@@ -0,0 +1,70 @@
+package com.karoldm.k_board_api.infra.persistence;
+
+import com.karoldm.k_board_api.infra.observability.SqlObservabilityConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the virtual-thread condition needs Java 21, so the beans behind it are wired directly
+class ConnectionBulkheadConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(PropertyPlaceholderAutoConfiguration.class))
+            .withUserConfiguration(DataSourceConfig.class, SqlObservabilityConfig.class, ConnectionBulkheadConfig.Beans.class)
+            .withPropertyValues(
+                    "spring.datasource.hikari.maximum-pool-size=3",
+                    "api.datasource.bulkhead.max-waiting=5",
+                    "api.datasource.bulkhead.wait-timeout-ms=100",
+                    "api.sql.slow-query-threshold-ms=500",
+                    "api.sql.query-count-header=false");
+
+    @Test
+    void shouldPutTheBulkheadBetweenTheQueryProxyAndThePool() {
+        contextRunner.run(context -> {
+            DataSource dataSource = context.getBean(DataSource.class);
+            assertInstanceOf(ProxyDataSource.class, dataSource);
+            ConnectionBulkheadDataSource bulkhead = dataSource.unwrap(ConnectionBulkheadDataSource.class);
+
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            context.getBean(MeterBinder.class).bindTo(registry);
+            assertEquals(3, registry.get("jdbc.connections.bulkhead.available").gauge().value());
+            assertEquals(0, registry.get("jdbc.connections.bulkhead.waiting").gauge().value());
+            assertEquals(0, registry.get("jdbc.connections.bulkhead.rejected").functionCounter().count());
+
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("SELECT 1");
+                assertEquals(2, bulkhead.getAvailable());
+            }
+            assertEquals(3, registry.get("jdbc.connections.bulkhead.available").gauge().value());
+        });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class DataSourceConfig {
+
+        @Bean
+        DataSource dataSource() {
+            return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
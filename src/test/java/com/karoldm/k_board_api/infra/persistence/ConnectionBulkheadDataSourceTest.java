@@ -0,0 +1,72 @@
+package com.karoldm.k_board_api.infra.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConnectionBulkheadDataSourceTest {
+
+    private DataSource target;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void shouldReleasePermitOnceWhenConnectionIsClosed() throws SQLException {
+        ConnectionBulkheadDataSource bulkhead = new ConnectionBulkheadDataSource(target, 1, 0, Duration.ofMillis(10));
+
+        Connection first = bulkhead.getConnection();
+        first.close();
+        first.close();
+        Connection second = bulkhead.getConnection();
+
+        assertEquals(0, bulkhead.getAvailable());
+        second.close();
+        assertEquals(1, bulkhead.getAvailable());
+        verify(connection, times(3)).close();
+    }
+
+    @Test
+    void shouldRejectRightAwayWhenNoWaitersAreAllowed() throws SQLException {
+        ConnectionBulkheadDataSource bulkhead = new ConnectionBulkheadDataSource(target, 1, 0, Duration.ofSeconds(10));
+        bulkhead.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+        assertEquals(1, bulkhead.getRejected());
+    }
+
+    @Test
+    void shouldGiveUpAfterWaitTimeout() throws SQLException {
+        ConnectionBulkheadDataSource bulkhead = new ConnectionBulkheadDataSource(target, 1, 5, Duration.ofMillis(50));
+        bulkhead.getConnection();
+
+        long start = System.nanoTime();
+        assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 50);
+        assertEquals(1, bulkhead.getRejected());
+    }
+
+    @Test
+    void shouldReleasePermitWhenPoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConnectionBulkheadDataSource bulkhead = new ConnectionBulkheadDataSource(target, 1, 0, Duration.ofMillis(10));
+
+        assertThrows(SQLException.class, bulkhead::getConnection);
+
+        assertEquals(1, bulkhead.getAvailable());
+    }
+}
@@ -0,0 +1,73 @@
+package com.karoldm.k_board_api.infra.security;
+
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.karoldm.k_board_api.services.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TokenVerificationCacheTest {
+
+    private TokenService tokenService;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenVerificationCache tokenVerificationCache;
+
+    private final String email = "user@example.com";
+
+    @BeforeEach
+    void setUp() {
+        tokenService = spy(new TokenService("mySecretKey", "primary", ""));
+        meterRegistry = new SimpleMeterRegistry();
+        tokenVerificationCache = new TokenVerificationCache(tokenService, meterRegistry, 100, 10, 900, 30);
+    }
+
+    @Test
+    void shouldVerifyTokenOnlyOnce() {
+        String token = tokenService.generateToken(email);
+
+        assertEquals(email, tokenVerificationCache.validateToken(token));
+        assertEquals(email, tokenVerificationCache.validateToken(token));
+
+        verify(tokenService, times(1)).verifyToken(token);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "token.verification").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "token.verification").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void shouldNegativeCacheMalformedToken() {
+        String token = "invalid.token.string";
+
+        assertThrows(JWTDecodeException.class, () -> tokenVerificationCache.validateToken(token));
+        assertThrows(JWTDecodeException.class, () -> tokenVerificationCache.validateToken(token));
+
+        verify(tokenService, times(1)).verifyToken(token);
+    }
+
+    @Test
+    void shouldNegativeCacheTokenWithInvalidSignature() {
+        String token = new TokenService("otherSecretKey", "primary", "").generateToken(email);
+
+        assertThrows(JWTVerificationException.class, () -> tokenVerificationCache.validateToken(token));
+        assertThrows(JWTVerificationException.class, () -> tokenVerificationCache.validateToken(token));
+
+        verify(tokenService, times(1)).verifyToken(token);
+    }
+
+    @Test
+    void shouldKeepValidTokensWhileFloodedWithBadOnes() {
+        String token = tokenService.generateToken(email);
+        assertEquals(email, tokenVerificationCache.validateToken(token));
+
+        for (int i = 0; i < 500; i++) {
+            String garbage = "garbage." + i + ".token";
+            assertThrows(JWTDecodeException.class, () -> tokenVerificationCache.validateToken(garbage));
+        }
+
+        assertEquals(email, tokenVerificationCache.validateToken(token));
+        verify(tokenService, times(1)).verifyToken(token);
+    }
+}
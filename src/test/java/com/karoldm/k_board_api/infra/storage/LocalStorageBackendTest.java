@@ -0,0 +1,107 @@
+package com.karoldm.k_board_api.infra.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalStorageBackendTest {
+    private static final String BASE_URL = "http://localhost:8080/files/";
+
+    @TempDir
+    private Path root;
+
+    private LocalStorageBackend storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalStorageBackend(root, BASE_URL, "secret");
+    }
+
+    @Test
+    void shouldStoreReadAndDeleteFilesByKey(@TempDir Path staging) throws Exception {
+        Path staged = Files.write(staging.resolve("upload"), new byte[]{1, 2, 3});
+
+        storage.put("avatars/user/photo.png", staged, "image/png");
+        storage.put("avatars/user/photo.png.thumb-64.jpg", new ByteArrayInputStream(new byte[]{4}), 1, "image/jpeg", null);
+
+        try (InputStream content = storage.open("avatars/user/photo.png")) {
+            assertArrayEquals(new byte[]{1, 2, 3}, content.readAllBytes());
+        }
+        StorageBackend.StoredObject stored = storage.stat("avatars/user/photo.png").orElseThrow();
+        assertEquals(3, stored.size());
+        assertEquals("image/png", stored.contentType());
+        assertEquals("image/jpeg", storage.stat("avatars/user/photo.png.thumb-64.jpg").orElseThrow().contentType());
+
+        assertEquals(2, storage.deleteAll(List.of("avatars/user/photo.png", "avatars/user/photo.png.thumb-64.jpg")));
+        storage.delete("avatars/user/photo.png");
+        assertTrue(storage.stat("avatars/user/photo.png").isEmpty());
+        try (Stream<Path> incoming = Files.list(root.resolve(".incoming"))) {
+            assertEquals(0, incoming.count());
+        }
+    }
+
+    @Test
+    void shouldListEveryFilePageByPage() {
+        IntStream.range(0, 1500).forEach(i ->
+                storage.put(String.format("files/%04d.png", i), new ByteArrayInputStream(new byte[]{1}), 1, "image/png", null));
+
+        List<Integer> pageSizes = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        storage.list(page -> {
+            pageSizes.add(page.size());
+            page.forEach(object -> keys.add(object.key()));
+        });
+
+        assertEquals(List.of(1000, 500), pageSizes);
+        assertEquals("files/0000.png", keys.get(0));
+        assertEquals("files/1499.png", keys.get(1499));
+    }
+
+    @Test
+    void shouldRefuseKeysOutsideTheRoot() {
+        for (String key : List.of("", "../secret", "a/../../secret", "/etc/passwd", ".incoming/x", "a//b")) {
+            assertThrows(IllegalArgumentException.class, () -> storage.resolve(key), key);
+        }
+    }
+
+    @Test
+    void shouldSignUploadsForOneKeyContentTypeAndPeriod() {
+        StorageBackend.PresignedUpload upload = storage.presignUpload("avatars/a.png", "image/png", Duration.ofMinutes(5));
+        assertTrue(upload.url().startsWith(BASE_URL + "avatars/a.png?"));
+        Map<String, String> query = query(upload.url());
+        long expires = Long.parseLong(query.get("expires"));
+
+        assertTrue(storage.verifyUpload("avatars/a.png", "image/png", expires, query.get("signature")));
+        assertFalse(storage.verifyUpload("avatars/b.png", "image/png", expires, query.get("signature")));
+        assertFalse(storage.verifyUpload("avatars/a.png", "image/jpeg", expires, query.get("signature")));
+        assertFalse(storage.verifyUpload("avatars/a.png", "image/png", expires + 60, query.get("signature")));
+
+        StorageBackend.PresignedUpload expired = storage.presignUpload("avatars/a.png", "image/png", Duration.ofMinutes(-1));
+        Map<String, String> expiredQuery = query(expired.url());
+        assertTrue(expired.expiresAt().isBefore(Instant.now()));
+        assertFalse(storage.verifyUpload("avatars/a.png", "image/png",
+                Long.parseLong(expiredQuery.get("expires")), expiredQuery.get("signature")));
+    }
+
+    private static Map<String, String> query(String url) {
+        return Stream.of(URI.create(url).getRawQuery().split("&"))
+                .map(pair -> pair.split("=", 2))
+                .collect(Collectors.toMap(pair -> pair[0], pair -> pair[1]));
+    }
+}
@@ -0,0 +1,86 @@
+package com.karoldm.k_board_api.jobs;
+
+import com.karoldm.k_board_api.entities.Project;
+import com.karoldm.k_board_api.entities.Task;
+import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.enums.TaskStatus;
+import com.karoldm.k_board_api.repositories.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+class ProjectProgressRepairJobTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Test
+    void shouldRepairCountersOfEveryProjectInBatches() {
+        User owner = entityManager.persist(User.builder()
+                .name("owner")
+                .email("owner@example.com")
+                .password("password")
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .build());
+
+        List<UUID> projectIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            projectIds.add(createProject(owner, i + 1));
+        }
+        projectRepository.adjustTaskCounters(projectIds.get(0), 1, 1);
+        entityManager.clear();
+
+        ProjectProgressRepairJob job = new ProjectProgressRepairJob(projectRepository);
+        ReflectionTestUtils.setField(job, "batchSize", 2);
+
+        assertEquals(5, job.repair());
+        assertEquals(0, job.repair());
+
+        entityManager.clear();
+        for (int i = 0; i < projectIds.size(); i++) {
+            Project project = entityManager.find(Project.class, projectIds.get(i));
+            assertEquals(i + 1, project.getTotalTasks());
+            assertEquals((i + 1) / 2, project.getCompletedTasks());
+        }
+    }
+
+    private UUID createProject(User owner, int taskCount) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        Project project = entityManager.persist(Project.builder()
+                .title("Project")
+                .createdAt(now)
+                .owner(owner)
+                .build());
+
+        for (int i = 0; i < taskCount; i++) {
+            entityManager.persist(Task.builder()
+                    .title("Task " + i)
+                    .description("description")
+                    .color("#000")
+                    .status((i % 2 == 1 ? TaskStatus.COMPLETED : TaskStatus.PENDING).toString())
+                    .createdAt(now)
+                    .project(project)
+                    .createdBy(owner)
+                    .build());
+        }
+
+        entityManager.flush();
+        return project.getId();
+    }
+}
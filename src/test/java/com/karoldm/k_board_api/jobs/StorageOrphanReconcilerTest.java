@@ -0,0 +1,96 @@
+package com.karoldm.k_board_api.jobs;
+
+import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.repositories.UserRepository;
+import com.karoldm.k_board_api.services.FileStorageService;
+import com.karoldm.k_board_api.infra.aws.S3StorageBackend;
+import com.karoldm.k_board_api.support.EmbeddedPostgresDatabase;
+import com.karoldm.k_board_api.support.LocalS3Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StorageOrphanReconcilerTest {
+    private static final String BUCKET_URL = "https://k-board-images.example.com/";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final LocalS3Server s3 = new LocalS3Server("k-board-images", 2);
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3.close();
+    }
+
+    @Test
+    void shouldRemoveOldFilesNoUserPointsTo() {
+        Instant old = Instant.now().minus(Duration.ofDays(2));
+        s3.putObject("a-referenced.png", new byte[]{1}, old);
+        s3.putObject("a-referenced.png.thumb-64.jpg", new byte[]{1}, old);
+        s3.putObject("b-orphan.png", new byte[]{1}, old);
+        s3.putObject("b-orphan.png.thumb-64.jpg", new byte[]{1}, old);
+        s3.putObject("c-orphan.png", new byte[]{1}, old);
+        s3.putObject("d-referenced.png", new byte[]{1}, old);
+        s3.putObject("e-orphan.png", new byte[]{1}, old);
+        s3.putObject("f-recent.png", new byte[]{1}, Instant.now());
+        createUser(BUCKET_URL + "a-referenced.png");
+        // stored before the public URL moved to a CDN
+        createUser("https://old-bucket.example.com/d-referenced.png");
+
+        StorageOrphanReconciler reconciler = reconciler(BUCKET_URL);
+
+        assertEquals(4, reconciler.reconcile());
+        assertEquals(Set.of("a-referenced.png", "a-referenced.png.thumb-64.jpg", "d-referenced.png", "f-recent.png"), s3.keys());
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    @Test
+    void shouldRemoveNothingWhenNoStoredFileMatchesAUserPhoto() {
+        Instant old = Instant.now().minus(Duration.ofDays(2));
+        s3.putObject("a-photo.png", new byte[]{1}, old);
+        s3.putObject("b-photo.png", new byte[]{1}, old);
+        createUser(BUCKET_URL + "avatars/c-photo.png");
+
+        assertEquals(0, reconciler(BUCKET_URL).reconcile());
+        assertEquals(Set.of("a-photo.png", "b-photo.png"), s3.keys());
+    }
+
+    private StorageOrphanReconciler reconciler(String baseUrl) {
+        FileStorageService storageService = new FileStorageService(new S3StorageBackend(s3.client(), "k-board-images", baseUrl));
+        StorageOrphanReconciler reconciler = new StorageOrphanReconciler(storageService, userRepository);
+        ReflectionTestUtils.setField(reconciler, "minAge", Duration.ofDays(1));
+        return reconciler;
+    }
+
+    private void createUser(String photoUrl) {
+        userRepository.save(User.builder()
+                .name("user")
+                .email("user-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .photoUrl(photoUrl)
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .build());
+    }
+}
@@ -0,0 +1,202 @@
+package com.karoldm.k_board_api.jobs;
+
+import com.karoldm.k_board_api.entities.StorageOutboxEntry;
+import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.enums.StorageOperation;
+import com.karoldm.k_board_api.exceptions.AmazonS3Exception;
+import com.karoldm.k_board_api.repositories.StorageOutboxRepository;
+import com.karoldm.k_board_api.repositories.UserRepository;
+import com.karoldm.k_board_api.services.FileStorageService;
+import com.karoldm.k_board_api.services.PhotoThumbnailService;
+import com.karoldm.k_board_api.services.StorageOutboxService;
+import com.karoldm.k_board_api.support.EmbeddedPostgresDatabase;
+import com.karoldm.k_board_api.utils.PhotoThumbnails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {
+        "api.aws.access-key=test",
+        "api.aws.secret-key=test",
+        "api.aws.bucket-url=http://localhost/",
+        "api.storage.outbox.poll-interval=PT1H",
+        "api.storage.outbox.retry-base-delay=PT1H"
+})
+class StorageOutboxWorkerTest {
+
+    @Autowired
+    private StorageOutboxService outboxService;
+
+    @Autowired
+    private StorageOutboxWorker worker;
+
+    @Autowired
+    private StorageOutboxRepository outboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private FileStorageService storageService;
+
+    @MockitoBean
+    private PhotoThumbnailService thumbnailService;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void shouldUploadStagedPhotoAfterCommitAndDeleteThePreviousOne() {
+        User user = createUser("http://localhost/old.png");
+        AtomicReference<Path> staged = new AtomicReference<>();
+        when(storageService.uploadFile(any(Path.class), eq("avatar.png"), eq("image/png"))).thenAnswer(invocation -> {
+            Path file = invocation.getArgument(0);
+            assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(file));
+            staged.set(file);
+            return "http://localhost/avatar-new.png";
+        });
+        when(thumbnailService.generate(eq("http://localhost/avatar-new.png"), any(Path.class))).thenReturn(true);
+
+        transactionTemplate.executeWithoutResult(status -> outboxService.enqueueUserPhoto(user,
+                new MockMultipartFile("photo", "avatar.png", "image/png", new byte[]{1, 2, 3})));
+
+        awaitUntil(() -> outboxRepository.count() == 0
+                && "http://localhost/avatar-new.png".equals(userRepository.findById(user.getId()).orElseThrow().getPhotoUrl()));
+        verify(storageService).removeFilesByUrl(PhotoThumbnails.withThumbnails("http://localhost/old.png"));
+        assertTrue(userRepository.findById(user.getId()).orElseThrow().isPhotoThumbnails());
+        assertFalse(Files.exists(staged.get()));
+    }
+
+    @Test
+    void shouldDeletePreviousPhotoWhenReplacedWithAStoredFile() {
+        User user = createUser("http://localhost/old.png");
+
+        outboxService.replaceUserPhoto(user.getId(), "http://localhost/direct.png");
+        outboxService.replaceUserPhoto(user.getId(), "http://localhost/direct.png");
+
+        assertEquals("http://localhost/direct.png", userRepository.findById(user.getId()).orElseThrow().getPhotoUrl());
+        awaitUntil(() -> outboxRepository.count() == 0);
+        verify(storageService).removeFilesByUrl(PhotoThumbnails.withThumbnails("http://localhost/old.png"));
+        verify(storageService, never()).removeFilesByUrl(PhotoThumbnails.withThumbnails("http://localhost/direct.png"));
+    }
+
+    @Test
+    void shouldNotUploadAnythingWhenTheEnqueuingTransactionRollsBack() {
+        User user = createUser("");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.enqueueUserPhoto(user, new MockMultipartFile("photo", "avatar.png", "image/png", new byte[]{1}));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, worker.drain());
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    void shouldRetryFailedDeletionWithBackoff() {
+        doThrow(new AmazonS3Exception("storage unavailable")).doReturn(4)
+                .when(storageService).removeFilesByUrl(PhotoThumbnails.withThumbnails("http://localhost/gone.png"));
+
+        transactionTemplate.executeWithoutResult(status -> outboxService.enqueueDeletion("http://localhost/gone.png"));
+
+        awaitUntil(() -> outboxRepository.findAll().stream().anyMatch(entry -> entry.getLastError() != null));
+        StorageOutboxEntry failed = outboxRepository.findAll().get(0);
+        assertEquals(1, failed.getAttempts());
+        assertEquals("storage unavailable", failed.getLastError());
+        assertTrue(failed.getNextAttemptAt().isAfter(OffsetDateTime.now(ZoneOffset.UTC).plusMinutes(29)));
+        assertEquals(0, worker.drain());
+
+        failed.setNextAttemptAt(OffsetDateTime.now(ZoneOffset.UTC).minusSeconds(1));
+        outboxRepository.save(failed);
+
+        assertEquals(1, worker.drain());
+        assertEquals(List.of(), outboxRepository.findAll());
+        verify(storageService, times(2)).removeFilesByUrl(PhotoThumbnails.withThumbnails("http://localhost/gone.png"));
+    }
+
+    @Test
+    void shouldOnlyClaimUploadsStagedOnThisNodeAndKeepMissingFilesVisible() {
+        User user = createUser("http://localhost/old.png");
+        StorageOutboxEntry elsewhere = outboxRepository.save(stagedUpload(user, "other-node"));
+        StorageOutboxEntry missing = outboxRepository.save(stagedUpload(user, outboxService.getNodeId()));
+
+        assertEquals(1, worker.drain());
+
+        assertEquals(0, outboxRepository.findById(elsewhere.getId()).orElseThrow().getAttempts());
+        StorageOutboxEntry failed = outboxRepository.findById(missing.getId()).orElseThrow();
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getLastError().contains("staged photo is missing"), failed.getLastError());
+        assertEquals("http://localhost/old.png", userRepository.findById(user.getId()).orElseThrow().getPhotoUrl());
+        verifyNoInteractions(storageService);
+    }
+
+    private StorageOutboxEntry stagedUpload(User user, String nodeId) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        return StorageOutboxEntry.builder()
+                .operation(StorageOperation.UPLOAD_USER_PHOTO)
+                .userId(user.getId())
+                .stagedPath(Path.of(System.getProperty("java.io.tmpdir"), UUID.randomUUID() + ".upload").toString())
+                .nodeId(nodeId)
+                .fileName("avatar.png")
+                .contentType("image/png")
+                .nextAttemptAt(now.minusSeconds(1))
+                .createdAt(now)
+                .build();
+    }
+
+    private User createUser(String photoUrl) {
+        return userRepository.save(User.builder()
+                .name("user")
+                .email("user-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .photoUrl(photoUrl)
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .build());
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("condition not met within 10 seconds");
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                fail(ex);
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.karoldm.k_board_api.entities.User;
 import org.junit.jupiter.api.Test;
 
 import java.time.OffsetDateTime;
+import java.util.Map;
 import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,5 +34,21 @@ class UserMapperTest {
         assertEquals(email, userResponseDTO.email());
         assertEquals(photoUrl, userResponseDTO.photoUrl());
         assertEquals(createdAt, userResponseDTO.createdAt());
+        assertEquals(Map.of(256, photoUrl, 64, photoUrl, 32, photoUrl), userResponseDTO.photoThumbnailUrls());
+    }
+
+    @Test
+    void shouldMapStoredThumbnailsBySize() {
+        User user = new User();
+        user.setPhotoUrl("photo_url");
+        user.setPhotoThumbnails(true);
+
+        UserResponseDTO userResponseDTO = UserMapper.toUserResponseDTO(user);
+
+        assertEquals(Map.of(
+                256, "photo_url.thumb-256.jpg",
+                64, "photo_url.thumb-64.jpg",
+                32, "photo_url.thumb-32.jpg"
+        ), userResponseDTO.photoThumbnailUrls());
     }
 }
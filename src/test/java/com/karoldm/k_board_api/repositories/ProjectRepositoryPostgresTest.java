@@ -0,0 +1,134 @@
+package com.karoldm.k_board_api.repositories;
+
+import com.karoldm.k_board_api.dto.response.ProjectResponseDTO;
+import com.karoldm.k_board_api.entities.Project;
+import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.enums.ProjectSearchMode;
+import com.karoldm.k_board_api.services.AuthService;
+import com.karoldm.k_board_api.services.ProjectAccessService;
+import com.karoldm.k_board_api.services.ProjectService;
+import com.karoldm.k_board_api.support.EmbeddedPostgresDatabase;
+import com.karoldm.k_board_api.utils.LikePattern;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProjectRepositoryPostgresTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(User.builder()
+                .name("owner")
+                .email("owner-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .build());
+
+        for (String title : List.of("Kanban board", "Marketing plan", "Board games", "100% done", "release_v2")) {
+            entityManager.persist(Project.builder()
+                    .title(title)
+                    .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                    .owner(owner)
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldAssignTimeOrderedIds() {
+        Project project = projectRepository.searchOwnedProjects(owner, "%", PageRequest.of(0, 10)).getContent().get(0);
+
+        assertEquals(7, owner.getId().version());
+        assertEquals(7, project.getId().version());
+    }
+
+    @Test
+    void shouldFilterTitlesBySubstringAndPrefix() {
+        assertEquals(List.of("Board games", "Kanban board"), searchTitles(LikePattern.contains("BOARD")));
+        assertEquals(List.of("Board games"), searchTitles(LikePattern.startsWith("board")));
+        assertEquals(List.of("100% done"), searchTitles(LikePattern.contains("0%")));
+        assertEquals(List.of("release_v2"), searchTitles(LikePattern.contains("e_v")));
+        assertEquals(2, projectRepository.countOwnedProjects(owner, LikePattern.contains("board")));
+    }
+
+    @Test
+    void shouldRankSimilarTitlesFirst() {
+        List<UUID> ids = projectRepository
+                .rankOwnedProjectIds(owner.getId(), "kanbn", LikePattern.contains("kanbn"), PageRequest.of(0, 10))
+                .getContent();
+
+        assertFalse(ids.isEmpty());
+        assertEquals("Kanban board", entityManager.find(Project.class, ids.get(0)).getTitle());
+    }
+
+    @Test
+    void shouldListRankedProjectsInSimilarityOrder() {
+        AuthService authService = mock(AuthService.class);
+        when(authService.getSessionUser()).thenReturn(owner);
+        ProjectService projectService = new ProjectService(
+                projectRepository, userRepository, authService, mock(ProjectAccessService.class),
+                mock(ApplicationEventPublisher.class));
+
+        List<ProjectResponseDTO> projects = projectService.getAllProjectsByUser(
+                "board", ProjectSearchMode.RANKED, 0, 10, "createdAt", "desc", true).getContent();
+
+        assertEquals("Board games", projects.get(0).title());
+        assertTrue(projects.stream().anyMatch(project -> project.title().equals("Kanban board")));
+        assertEquals(owner.getId(), projects.get(0).owner().id());
+    }
+
+    @Test
+    void shouldServeTitleSearchFromTrigramIndex() {
+        entityManager.getEntityManager().createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+
+        @SuppressWarnings("unchecked")
+        List<String> plan = entityManager.getEntityManager()
+                .createNativeQuery("EXPLAIN SELECT id FROM projects WHERE lower(title) LIKE '%board%'")
+                .getResultList();
+
+        assertTrue(String.join("\n", plan).contains("idx_projects_title_trgm"), String.join("\n", plan));
+    }
+
+    private List<String> searchTitles(String pattern) {
+        return projectRepository.searchOwnedProjects(owner, pattern, PageRequest.of(0, 10, Sort.by("title")))
+                .map(Project::getTitle)
+                .getContent();
+    }
+}
@@ -0,0 +1,68 @@
+package com.karoldm.k_board_api.repositories;
+
+import com.karoldm.k_board_api.support.EmbeddedPostgresDatabase;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// the context only starts if ddl-auto=validate accepts the migrated schema
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SchemaMigrationPostgresTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @Test
+    void shouldCreateIndexesForHotQueries() {
+        @SuppressWarnings("unchecked")
+        List<String> indexes = entityManager
+                .createNativeQuery("SELECT indexname FROM pg_indexes WHERE schemaname = 'public'")
+                .getResultList();
+
+        assertTrue(indexes.containsAll(List.of(
+                "idx_tasks_project_created",
+                "idx_tasks_project_status_created",
+                "idx_tasks_user",
+                "idx_task_atribuization_user_task",
+                "idx_tasks_tags_task",
+                "idx_project_participation_user_project",
+                "idx_projects_owner_created",
+                "idx_projects_title_trgm",
+                "idx_users_photo_url"
+        )), indexes.toString());
+    }
+
+    @Test
+    void shouldServeBoardQueriesFromIndexes() {
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+        UUID projectId = UUID.randomUUID();
+
+        assertTrue(explain("SELECT * FROM tasks WHERE project_id = '" + projectId + "' ORDER BY created_at, id")
+                .contains("idx_tasks_project_created"));
+        assertTrue(explain("SELECT * FROM tasks WHERE project_id = '" + projectId + "' AND status = 'DOING' "
+                + "ORDER BY created_at, id LIMIT 20").contains("idx_tasks_project_status_created"));
+        assertTrue(explain("SELECT project_id FROM project_participation WHERE user_id = '" + projectId + "'")
+                .contains("idx_project_participation_user_project"));
+    }
+
+    private String explain(String sql) {
+        @SuppressWarnings("unchecked")
+        List<String> plan = entityManager.createNativeQuery("EXPLAIN " + sql).getResultList();
+        return String.join("\n", plan);
+    }
+}
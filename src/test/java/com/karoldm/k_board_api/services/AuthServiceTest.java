@@ -1,4 +1,148 @@
 package com.karoldm.k_board_api.services;
 
+import com.karoldm.k_board_api.dto.payload.LoginPayloadDTO;
+import com.karoldm.k_board_api.dto.payload.RegisterPayloadDTO;
+import com.karoldm.k_board_api.dto.response.LoginResponseDTO;
+import com.karoldm.k_board_api.dto.response.UserResponseDTO;
+import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.exceptions.InvalidPasswordException;
+import com.karoldm.k_board_api.exceptions.UserNotAuthenticated;
+import com.karoldm.k_board_api.infra.security.SessionPrincipal;
+import com.karoldm.k_board_api.infra.security.SessionUserHolder;
+import com.karoldm.k_board_api.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private StorageOutboxService storageOutboxService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private SessionUserHolder sessionUserHolder;
+
+    @InjectMocks
+    private AuthService authService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@example.com");
+        user.setPassword("encoded-password");
+
+        SessionPrincipal principal = new SessionPrincipal(user.getId(), user.getEmail(), user.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.authorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldLoadSessionUserOnlyOncePerRequest() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        User first = authService.getSessionUser();
+        User second = authService.getSessionUser();
+
+        assertSame(user, first);
+        assertSame(user, second);
+        verify(userRepository, times(1)).findById(user.getId());
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void shouldResolveSessionUserIdWithoutQueryingRepository() {
+        assertEquals(user.getId(), authService.getSessionUserId());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void shouldThrowWhenSessionUserNoLongerExists() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.empty());
+
+        assertThrows(UserNotAuthenticated.class, () -> authService.getSessionUser());
+    }
+
+    @Test
+    void shouldThrowWhenPrincipalIsNotAuthenticated() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("anonymous", null, List.of()));
+
+        assertThrows(UserNotAuthenticated.class, () -> authService.getSessionUserId());
+    }
+
+    @Test
+    void shouldVerifyPasswordOnceOnLogin() {
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(user);
+        when(passwordHashingService.matches("password123", "encoded-password")).thenReturn(true);
+        when(tokenService.generateToken(user.getEmail())).thenReturn("token");
+
+        LoginResponseDTO response = authService.authenticateUser(new LoginPayloadDTO(user.getEmail(), "password123"));
+
+        assertEquals("token", response.token());
+        verify(passwordHashingService, times(1)).matches("password123", "encoded-password");
+    }
+
+    @Test
+    void shouldRejectLoginWithWrongPassword() {
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(user);
+        when(passwordHashingService.matches("wrong-password", "encoded-password")).thenReturn(false);
+
+        assertThrows(InvalidPasswordException.class,
+                () -> authService.authenticateUser(new LoginPayloadDTO(user.getEmail(), "wrong-password")));
+        verifyNoInteractions(tokenService);
+    }
+
+    @Test
+    void shouldHashPasswordBeforeOpeningTheTransaction() {
+        when(passwordHashingService.encode("password123")).thenReturn("encoded-password");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            verify(passwordHashingService).encode("password123");
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+
+        UserResponseDTO response = authService.registerUser(
+                new RegisterPayloadDTO("User", "new@example.com", "password123", null));
+
+        assertEquals("new@example.com", response.email());
+        verify(userRepository).save(argThat(saved -> saved.getPassword().equals("encoded-password")));
+    }
 }
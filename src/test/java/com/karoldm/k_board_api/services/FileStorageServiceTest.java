@@ -1,4 +1,89 @@
 package com.karoldm.k_board_api.services;
 
+import com.karoldm.k_board_api.infra.aws.S3StorageBackend;
+import com.karoldm.k_board_api.support.LocalS3Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 class FileStorageServiceTest {
+    private static final String BUCKET_URL = "https://k-board-images.example.com/";
+
+    private LocalS3Server s3;
+    private FileStorageService storageService;
+
+    @BeforeEach
+    void setUp() {
+        s3 = new LocalS3Server("k-board-images", 1000);
+        storageService = new FileStorageService(new S3StorageBackend(s3.client(), "k-board-images", BUCKET_URL));
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3.close();
+    }
+
+    @Test
+    void shouldUploadStagedFile(@TempDir Path directory) throws Exception {
+        Path staged = Files.write(directory.resolve("staged.upload"), new byte[]{1, 2, 3});
+
+        String url = storageService.uploadFile(staged, "avatar.png", "image/png");
+
+        assertTrue(url.startsWith(BUCKET_URL + "avatar-"));
+        assertTrue(url.endsWith(".png"));
+        assertEquals(Set.of(url.substring(BUCKET_URL.length())), s3.keys());
+    }
+
+    @Test
+    void shouldRemoveFileWithASingleRequest() {
+        s3.putObject("avatar.png", new byte[]{1}, Instant.now());
+
+        storageService.removeFileByUrl(BUCKET_URL + "avatar.png");
+        storageService.removeFileByUrl(BUCKET_URL + "missing.png");
+
+        assertEquals(Set.of(), s3.keys());
+        assertEquals(List.of("DELETE /k-board-images/avatar.png", "DELETE /k-board-images/missing.png"), s3.requests());
+    }
+
+    @Test
+    void shouldRemoveFilesWithBatchRequestsOfAtMostThousandKeys() {
+        List<String> urls = new ArrayList<>();
+        IntStream.range(0, 2500).forEach(i -> {
+            s3.putObject("file-" + i + ".png", new byte[]{1}, Instant.now());
+            urls.add(BUCKET_URL + "file-" + i + ".png");
+        });
+        s3.putObject("kept.png", new byte[]{1}, Instant.now());
+
+        assertEquals(2500, storageService.removeFilesByUrl(urls));
+
+        assertEquals(Set.of("kept.png"), s3.keys());
+        assertEquals(3, s3.requests().size());
+        assertTrue(s3.requests().stream().allMatch(request -> request.startsWith("POST /k-board-images") && request.endsWith("?delete")));
+    }
+
+    @Test
+    void shouldListEveryFilePageByPage() {
+        LocalS3Server paged = new LocalS3Server("k-board-images", 2);
+        try (paged) {
+            FileStorageService service = new FileStorageService(new S3StorageBackend(paged.client(), "k-board-images", BUCKET_URL));
+            IntStream.range(0, 5).forEach(i -> paged.putObject("file-" + i + ".png", new byte[]{1}, Instant.now()));
+
+            List<List<FileStorageService.StoredFile>> pages = new ArrayList<>();
+            service.listFiles(pages::add);
+
+            assertEquals(List.of(2, 2, 1), pages.stream().map(List::size).toList());
+            assertEquals(BUCKET_URL + "file-0.png", pages.get(0).get(0).url());
+        }
+    }
 }
@@ -0,0 +1,63 @@
+package com.karoldm.k_board_api.services;
+
+import com.karoldm.k_board_api.exceptions.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingServiceTest {
+
+    @Test
+    void shouldEncodeAndMatchPassword() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingService service = new PasswordHashingService(
+                new BCryptPasswordEncoder(4), meterRegistry, 1, 1, 5);
+
+        String encoded = service.encode("password123");
+
+        assertTrue(service.matches("password123", encoded));
+        assertFalse(service.matches("wrong-password", encoded));
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count());
+
+        service.shutdown();
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "encoded";
+        });
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingService service = new PasswordHashingService(
+                passwordEncoder, meterRegistry, 1, 1, 5);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("second"));
+        while (meterRegistry.get("password.hashing.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> service.encode("third"));
+
+        release.countDown();
+        assertEquals("encoded", running.get(5, TimeUnit.SECONDS));
+        assertEquals("encoded", queued.get(5, TimeUnit.SECONDS));
+        service.shutdown();
+    }
+}
@@ -0,0 +1,121 @@
+package com.karoldm.k_board_api.services;
+
+import com.karoldm.k_board_api.repositories.ProjectRepository;
+import com.karoldm.k_board_api.repositories.UserRepository;
+import com.karoldm.k_board_api.infra.aws.S3StorageBackend;
+import com.karoldm.k_board_api.support.LocalS3Server;
+import com.karoldm.k_board_api.utils.PhotoThumbnails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PhotoThumbnailServiceTest {
+    private static final String BUCKET_URL = "https://k-board-images.example.com/";
+    private static final String PHOTO_URL = BUCKET_URL + "avatar.png";
+
+    private LocalS3Server s3;
+    private FileStorageService storageService;
+    private UserRepository userRepository;
+    private ProjectRepository projectRepository;
+
+    @BeforeEach
+    void setUp() {
+        s3 = new LocalS3Server("k-board-images", 1000);
+        storageService = new FileStorageService(new S3StorageBackend(s3.client(), "k-board-images", BUCKET_URL));
+        userRepository = mock(UserRepository.class);
+        projectRepository = mock(ProjectRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3.close();
+    }
+
+    @Test
+    void shouldRenderEverySizeAsASquareJpeg(@TempDir Path directory) throws Exception {
+        Path source = Files.write(directory.resolve("avatar.png"), png(1200, 800));
+
+        assertTrue(thumbnailService(50_000_000).generate(PHOTO_URL, source));
+
+        assertEquals(Set.of("avatar.png.thumb-256.jpg", "avatar.png.thumb-64.jpg", "avatar.png.thumb-32.jpg"), s3.keys());
+        for (int size : PhotoThumbnails.SIZES) {
+            String key = "avatar.png.thumb-" + size + ".jpg";
+            BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(s3.content(key)));
+            assertEquals(size, thumbnail.getWidth());
+            assertEquals(size, thumbnail.getHeight());
+            assertEquals("image/jpeg", s3.contentType(key));
+        }
+    }
+
+    @Test
+    void shouldRefuseSourcesLargerThanThePixelLimitBeforeDecoding(@TempDir Path directory) throws Exception {
+        Path source = Files.write(directory.resolve("avatar.png"), png(1200, 800));
+
+        assertFalse(thumbnailService(1200 * 800 - 1).generate(PHOTO_URL, source));
+        assertEquals(Set.of(), s3.keys());
+    }
+
+    @Test
+    void shouldMarkThumbnailsStoredAfterRenderingAStoredPhoto() throws Exception {
+        UUID userId = UUID.randomUUID();
+        s3.putObject("avatar.png", png(300, 300), "image/png", Instant.now());
+        when(userRepository.markPhotoThumbnailsStored(userId, PHOTO_URL)).thenReturn(1);
+        PhotoThumbnailService thumbnailService = thumbnailService(50_000_000);
+
+        thumbnailService.generateInBackground(userId, PHOTO_URL);
+
+        verify(projectRepository, timeout(5000)).bumpVersionsShowingUser(userId);
+        verify(userRepository).markPhotoThumbnailsStored(userId, PHOTO_URL);
+        assertEquals(4, s3.keys().size());
+        thumbnailService.shutdown();
+    }
+
+    @Test
+    void shouldNotMarkThumbnailsWhenThePhotoCannotBeDecoded() {
+        UUID userId = UUID.randomUUID();
+        s3.putObject("avatar.png", new byte[]{1, 2, 3}, "image/png", Instant.now());
+        PhotoThumbnailService thumbnailService = thumbnailService(50_000_000);
+
+        thumbnailService.generateInBackground(userId, PHOTO_URL);
+
+        verify(userRepository, after(500).never()).markPhotoThumbnailsStored(any(), any());
+        assertEquals(Set.of("avatar.png"), s3.keys());
+        thumbnailService.shutdown();
+    }
+
+    private PhotoThumbnailService thumbnailService(long maxSourcePixels) {
+        return new PhotoThumbnailService(storageService, userRepository, projectRepository, new SimpleMeterRegistry(),
+                1, 10, maxSourcePixels, 0.82f);
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.setColor(Color.ORANGE);
+        graphics.fillOval(width / 4, height / 4, width / 2, height / 2);
+        graphics.dispose();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+}
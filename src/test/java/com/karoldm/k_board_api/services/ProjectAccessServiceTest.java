@@ -0,0 +1,77 @@
+package com.karoldm.k_board_api.services;
+
+import com.karoldm.k_board_api.enums.ProjectAccessLevel;
+import com.karoldm.k_board_api.repositories.ProjectRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProjectAccessServiceTest {
+
+    private ProjectRepository projectRepository;
+    private ProjectAccessService projectAccessService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID projectId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        projectRepository = mock(ProjectRepository.class);
+        projectAccessService = new ProjectAccessService(projectRepository, new SimpleMeterRegistry(), 100, 30);
+    }
+
+    @Test
+    void shouldCacheGrantedAccess() {
+        when(projectRepository.findAccessLevel(projectId, userId)).thenReturn(Optional.of("MEMBER"));
+
+        projectAccessService.checkOwnershipOrParticipation(userId, projectId);
+        projectAccessService.checkOwnershipOrParticipation(userId, projectId);
+
+        verify(projectRepository, times(1)).findAccessLevel(projectId, userId);
+    }
+
+    @Test
+    void shouldNotCacheDeniedAccess() {
+        when(projectRepository.findAccessLevel(projectId, userId))
+                .thenReturn(Optional.of("NONE"))
+                .thenReturn(Optional.of("MEMBER"));
+
+        assertThrows(ResponseStatusException.class,
+                () -> projectAccessService.checkOwnershipOrParticipation(userId, projectId));
+        assertDoesNotThrow(() -> projectAccessService.checkOwnershipOrParticipation(userId, projectId));
+    }
+
+    @Test
+    void shouldTreatMissingProjectAsNoAccess() {
+        when(projectRepository.findAccessLevel(projectId, userId)).thenReturn(Optional.empty());
+
+        assertEquals(ProjectAccessLevel.NONE, projectAccessService.getAccessLevel(userId, projectId));
+    }
+
+    @Test
+    void shouldRejectMemberWhenOwnershipIsRequired() {
+        when(projectRepository.findAccessLevel(projectId, userId)).thenReturn(Optional.of("MEMBER"));
+
+        assertThrows(ResponseStatusException.class, () -> projectAccessService.checkOwnership(userId, projectId));
+    }
+
+    @Test
+    void shouldReloadAccessAfterEviction() {
+        when(projectRepository.findAccessLevel(projectId, userId))
+                .thenReturn(Optional.of("MEMBER"))
+                .thenReturn(Optional.of("NONE"));
+
+        projectAccessService.checkOwnershipOrParticipation(userId, projectId);
+        projectAccessService.evictProject(projectId);
+
+        assertThrows(ResponseStatusException.class,
+                () -> projectAccessService.checkOwnershipOrParticipation(userId, projectId));
+    }
+}
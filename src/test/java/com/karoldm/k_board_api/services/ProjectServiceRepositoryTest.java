@@ -0,0 +1,183 @@
+package com.karoldm.k_board_api.services;
+
+import com.karoldm.k_board_api.dto.response.ProjectResponseDTO;
+import com.karoldm.k_board_api.entities.Project;
+import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.enums.ProjectSearchMode;
+import com.karoldm.k_board_api.repositories.ProjectRepository;
+import com.karoldm.k_board_api.repositories.UserRepository;
+import com.karoldm.k_board_api.support.QueryBudget;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+class ProjectServiceRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private AuthService authService;
+
+    private ProjectService projectService;
+
+    @BeforeEach
+    void setUp() {
+        authService = mock(AuthService.class);
+        projectService = new ProjectService(
+                projectRepository,
+                userRepository,
+                authService,
+                mock(ProjectAccessService.class),
+                mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    void shouldListProjectsWithConstantNumberOfQueries() {
+        User smallMember = createMemberWithProjects(2);
+        User largeMember = createMemberWithProjects(10);
+
+        long smallListingQueries = countParticipationQueries(smallMember, 2);
+        long largeListingQueries = countParticipationQueries(largeMember, 10);
+
+        assertEquals(smallListingQueries, largeListingQueries);
+        assertTrue(largeListingQueries <= 3, "listing issued " + largeListingQueries + " statements");
+    }
+
+    @Test
+    void shouldListOwnedProjectsPageWithinStatementBudget() {
+        User owner = createOwnerWithProjects(50);
+        when(authService.getSessionUser()).thenReturn(owner);
+        entityManager.clear();
+
+        Slice<ProjectResponseDTO> projects = QueryBudget.of(entityManagerFactory).maxStatements(5)
+                .run("getAllProjectsByUser page of 50", () -> projectService
+                        .getAllProjectsByUser("", ProjectSearchMode.CONTAINS, 0, 50, "createdAt", "desc", true));
+
+        assertEquals(50, projects.getNumberOfElements());
+        projects.forEach(project -> assertEquals(2, project.members().size()));
+    }
+
+    @Test
+    void shouldSkipCountQueryWhenTotalIsNotRequested() {
+        User member = createMemberWithProjects(5);
+        when(authService.getSessionUser()).thenReturn(member);
+        Statistics statistics = statistics();
+
+        Slice<ProjectResponseDTO> withTotal = projectService
+                .getAllProjectsByUserParticipation("", ProjectSearchMode.CONTAINS, 0, 2, "createdAt", "desc", true);
+        long statementsWithTotal = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        statistics.clear();
+
+        Slice<ProjectResponseDTO> withoutTotal = projectService
+                .getAllProjectsByUserParticipation("", ProjectSearchMode.CONTAINS, 0, 2, "createdAt", "desc", false);
+
+        assertInstanceOf(Page.class, withTotal);
+        assertEquals(5, ((Page<ProjectResponseDTO>) withTotal).getTotalElements());
+        assertFalse(withoutTotal instanceof Page);
+        assertTrue(withoutTotal.hasNext());
+        assertEquals(2, withoutTotal.getNumberOfElements());
+        assertEquals(statementsWithTotal - 1, statistics.getPrepareStatementCount());
+    }
+
+    private long countParticipationQueries(User member, int expectedProjects) {
+        when(authService.getSessionUser()).thenReturn(member);
+        Statistics statistics = statistics();
+
+        Slice<ProjectResponseDTO> projects = projectService
+                .getAllProjectsByUserParticipation("", ProjectSearchMode.CONTAINS, 0, 20, "createdAt", "desc", true);
+
+        assertEquals(expectedProjects, projects.getNumberOfElements());
+        projects.forEach(project -> assertEquals(3, project.members().size()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private User createMemberWithProjects(int projectCount) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        User member = entityManager.persist(createUser("member"));
+
+        for (int i = 0; i < projectCount; i++) {
+            User owner = entityManager.persist(createUser("owner"));
+            User otherMember = entityManager.persist(createUser("other"));
+            User anotherMember = entityManager.persist(createUser("another"));
+
+            entityManager.persist(Project.builder()
+                    .title("Project " + i)
+                    .createdAt(now.plusSeconds(i))
+                    .owner(owner)
+                    .members(new HashSet<>(Set.of(member, otherMember, anotherMember)))
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return member;
+    }
+
+    private User createOwnerWithProjects(int projectCount) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        User owner = entityManager.persist(createUser("owner"));
+
+        for (int i = 0; i < projectCount; i++) {
+            User member = entityManager.persist(createUser("member"));
+            User otherMember = entityManager.persist(createUser("other"));
+
+            entityManager.persist(Project.builder()
+                    .title("Project " + i)
+                    .createdAt(now.plusSeconds(i))
+                    .owner(owner)
+                    .members(new HashSet<>(Set.of(member, otherMember)))
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return owner;
+    }
+
+    private User createUser(String name) {
+        return User.builder()
+                .name(name)
+                .email(name + "-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .build();
+    }
+}
@@ -0,0 +1,252 @@
+package com.karoldm.k_board_api.services;
+
+import com.karoldm.k_board_api.dto.payload.EditTaskPayloadDTO;
+import com.karoldm.k_board_api.dto.response.TaskBoardPageResponseDTO;
+import com.karoldm.k_board_api.dto.response.TaskColumnResponseDTO;
+import com.karoldm.k_board_api.dto.response.TaskListResponseDTO;
+import com.karoldm.k_board_api.dto.response.TaskResponseDTO;
+import com.karoldm.k_board_api.entities.Project;
+import com.karoldm.k_board_api.entities.Task;
+import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.enums.TaskStatus;
+import com.karoldm.k_board_api.repositories.ProjectRepository;
+import com.karoldm.k_board_api.repositories.TaskRepository;
+import com.karoldm.k_board_api.repositories.UserRepository;
+import com.karoldm.k_board_api.support.QueryBudget;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+class TaskServiceRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskService = new TaskService(
+                taskRepository,
+                userRepository,
+                projectRepository,
+                mock(AuthService.class),
+                mock(ProjectAccessService.class),
+                mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    void shouldLoadBoardWithConstantNumberOfQueries() {
+        UUID smallProject = createProjectWithTasks(5);
+        UUID largeProject = createProjectWithTasks(100);
+
+        long smallBoardQueries = countBoardQueries(smallProject, 5);
+        long largeBoardQueries = countBoardQueries(largeProject, 100);
+
+        assertEquals(smallBoardQueries, largeBoardQueries);
+        assertTrue(largeBoardQueries <= 3, "board issued " + largeBoardQueries + " statements");
+    }
+
+    @Test
+    void shouldListTasksWithinStatementBudgetRegardlessOfTaskCount() {
+        QueryBudget budget = QueryBudget.of(entityManagerFactory).maxStatements(4);
+
+        for (int taskCount : new int[]{1, 30, 300}) {
+            UUID projectId = createProjectWithTasks(taskCount);
+
+            TaskListResponseDTO board = budget.run("getTasksByProject with " + taskCount + " tasks",
+                    () -> taskService.getTasksByProject(projectId, Optional.empty()));
+
+            assertEquals(taskCount, board.total());
+        }
+    }
+
+    @Test
+    void shouldSortTasksByCreationDateAndGroupByStatus() {
+        UUID projectId = createProjectWithTasks(9);
+
+        TaskListResponseDTO board = taskService.getTasksByProject(projectId, Optional.empty());
+
+        assertEquals(9, board.total());
+        assertEquals(3, board.totalPending());
+        assertEquals(3, board.totalDoing());
+        assertEquals(3, board.totalCompleted());
+        assertTrue(board.pending().get(0).createdAt().isBefore(board.pending().get(1).createdAt()));
+    }
+
+    @Test
+    void shouldPaginateColumnWithKeysetCursor() {
+        UUID projectId = createProjectWithTasks(15);
+
+        TaskBoardPageResponseDTO board = taskService.getTaskBoardPage(projectId, Optional.empty(), 2, 5, 5);
+
+        assertEquals(15, board.total());
+        assertEquals(5, board.pending().total());
+        assertEquals(2, board.pending().tasks().size());
+        assertNotNull(board.pending().nextCursor());
+        assertNull(board.doing().nextCursor());
+
+        List<UUID> pendingIds = new ArrayList<>(board.pending().tasks().stream().map(TaskResponseDTO::id).toList());
+        String cursor = board.pending().nextCursor();
+        while (cursor != null) {
+            TaskColumnResponseDTO column = taskService.getTaskColumn(
+                    projectId, TaskStatus.PENDING, Optional.of(cursor), 2, Optional.empty());
+            pendingIds.addAll(column.tasks().stream().map(TaskResponseDTO::id).toList());
+            assertNull(column.total());
+            cursor = column.nextCursor();
+        }
+        assertEquals(5, taskService.getTaskColumn(projectId, TaskStatus.PENDING, Optional.empty(), 2, Optional.empty()).total());
+
+        ResponseStatusException invalid = assertThrows(ResponseStatusException.class, () -> taskService.getTaskColumn(
+                projectId, TaskStatus.PENDING, Optional.of("<script>"), 2, Optional.empty()));
+        assertEquals(HttpStatus.BAD_REQUEST, invalid.getStatusCode());
+        assertFalse(invalid.getReason().contains("<script>"));
+
+        TaskListResponseDTO fullBoard = taskService.getTasksByProject(projectId, Optional.empty());
+        assertEquals(fullBoard.pending().stream().map(TaskResponseDTO::id).toList(), pendingIds);
+    }
+
+    @Test
+    void shouldLoadBoardPageWithConstantNumberOfQueries() {
+        UUID projectId = createProjectWithTasks(60);
+
+        TaskBoardPageResponseDTO board = QueryBudget.of(entityManagerFactory).maxStatements(6)
+                .run("getTaskBoardPage", () -> taskService.getTaskBoardPage(projectId, Optional.empty(), 5, 5, 5));
+
+        assertEquals(15, board.pending().tasks().size() + board.doing().tasks().size() + board.completed().tasks().size());
+    }
+
+    @Test
+    void shouldKeepProjectTaskCountersInSyncWithTaskChanges() {
+        UUID projectId = createProjectWithTasks(0);
+        List<Task> tasks = new ArrayList<>();
+        Project project = entityManager.find(Project.class, projectId);
+        for (int i = 0; i < 3; i++) {
+            tasks.add(entityManager.persist(Task.builder()
+                    .title("Task " + i)
+                    .description("description")
+                    .color("#000")
+                    .status(TaskStatus.PENDING.toString())
+                    .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                    .project(project)
+                    .createdBy(project.getOwner())
+                    .responsible(new HashSet<>())
+                    .tags(new HashSet<>())
+                    .build()));
+        }
+        projectRepository.adjustTaskCounters(projectId, 3, 0);
+
+        EditTaskPayloadDTO complete = new EditTaskPayloadDTO(Optional.of(TaskStatus.COMPLETED),
+                Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
+        taskService.editTask(tasks.get(0), complete);
+        taskService.editTask(tasks.get(1), complete);
+        taskService.editTask(tasks.get(1), complete);
+        entityManager.flush();
+        taskService.deleteTask(tasks.get(0).getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Project reloaded = entityManager.find(Project.class, projectId);
+        assertEquals(2, reloaded.getTotalTasks());
+        assertEquals(1, reloaded.getCompletedTasks());
+    }
+
+    @Test
+    void shouldBumpProjectVersionOnEveryTaskChange() {
+        UUID projectId = createProjectWithTasks(1);
+        Task task = taskRepository.findByProjectIdOrderByCreatedAtAscIdAsc(projectId).get(0);
+        assertEquals(0, projectRepository.findVersion(projectId).orElseThrow());
+
+        taskService.editTask(task, new EditTaskPayloadDTO(Optional.empty(), Optional.of("Renamed"),
+                Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty()));
+        entityManager.flush();
+        assertEquals(1, projectRepository.findVersion(projectId).orElseThrow());
+
+        taskService.deleteTask(task.getId());
+        entityManager.flush();
+        assertEquals(2, projectRepository.findVersion(projectId).orElseThrow());
+    }
+
+    private long countBoardQueries(UUID projectId, int expectedTasks) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        TaskListResponseDTO board = taskService.getTasksByProject(projectId, Optional.empty());
+        board.pending().forEach(task -> task.tags().size());
+
+        assertEquals(expectedTasks, board.total());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private UUID createProjectWithTasks(int taskCount) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        User owner = entityManager.persist(createUser("owner"));
+        User member = entityManager.persist(createUser("member"));
+
+        Project project = entityManager.persist(Project.builder()
+                .title("Project")
+                .createdAt(now)
+                .owner(owner)
+                .tasks(new HashSet<>())
+                .members(new HashSet<>(Set.of(member)))
+                .build());
+
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < taskCount; i++) {
+            entityManager.persist(Task.builder()
+                    .title("Task " + i)
+                    .description("description")
+                    .color("#000")
+                    .status(statuses[i % statuses.length].toString())
+                    .createdAt(now.plusSeconds(i))
+                    .tags(new HashSet<>(Set.of("backend", "tag-" + i)))
+                    .project(project)
+                    .createdBy(i % 2 == 0 ? owner : member)
+                    .responsible(new HashSet<>(Set.of(owner, member)))
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return project.getId();
+    }
+
+    private User createUser(String name) {
+        return User.builder()
+                .name(name)
+                .email(name + "-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .build();
+    }
+}
@@ -5,31 +5,22 @@ import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.algorithms.Algorithm;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.lang.reflect.Field;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@ExtendWith(MockitoExtension.class)
 class TokenServiceTest {
 
-    @InjectMocks
     private TokenService tokenService;
 
     private final String email = "user@example.com";
 
     @BeforeEach
-    void setUp() throws Exception {
-        // set manually the secret field that is injected by @value
-        Field secretField = TokenService.class.getDeclaredField("secret");
-        secretField.setAccessible(true);
-        secretField.set(tokenService, "mySecretKey");
+    void setUp() {
+        tokenService = new TokenService("mySecretKey", "current", "previous:myOldSecretKey");
     }
 
     @Test
@@ -42,6 +33,45 @@ class TokenServiceTest {
         assertEquals(email, subject);
     }
 
+    @Test
+    void shouldSignTokenWithCurrentKeyId() {
+        String token = tokenService.generateToken(email);
+
+        assertEquals("current", JWT.decode(token).getKeyId());
+    }
+
+    @Test
+    void shouldValidateTokenSignedWithPreviousKey() {
+        String token = JWT.create()
+                .withKeyId("previous")
+                .withSubject(email)
+                .withExpiresAt(tokenService.generateExpirationDate())
+                .sign(Algorithm.HMAC256("myOldSecretKey"));
+
+        assertEquals(email, tokenService.validateToken(token));
+    }
+
+    @Test
+    void shouldValidateLegacyTokenWithoutKeyId() {
+        String token = JWT.create()
+                .withSubject(email)
+                .withExpiresAt(tokenService.generateExpirationDate())
+                .sign(Algorithm.HMAC256("mySecretKey"));
+
+        assertEquals(email, tokenService.validateToken(token));
+    }
+
+    @Test
+    void shouldThrowExceptionForUnknownKeyId() {
+        String token = JWT.create()
+                .withKeyId("unknown")
+                .withSubject(email)
+                .withExpiresAt(tokenService.generateExpirationDate())
+                .sign(Algorithm.HMAC256("mySecretKey"));
+
+        assertThrows(JWTVerificationException.class, () -> tokenService.validateToken(token));
+    }
+
     @Test
     void shouldThrowExceptionForInvalidToken() {
         String invalidToken = "invalid.token.string";
@@ -1,4 +1,141 @@
 package com.karoldm.k_board_api.services;
 
+import com.karoldm.k_board_api.dto.payload.CompletePhotoUploadPayloadDTO;
+import com.karoldm.k_board_api.dto.payload.PhotoUploadIntentPayloadDTO;
+import com.karoldm.k_board_api.dto.response.PhotoUploadIntentResponseDTO;
+import com.karoldm.k_board_api.dto.response.UserResponseDTO;
+import com.karoldm.k_board_api.entities.User;
+import com.karoldm.k_board_api.infra.security.SessionUserCache;
+import com.karoldm.k_board_api.repositories.ProjectRepository;
+import com.karoldm.k_board_api.repositories.UserRepository;
+import com.karoldm.k_board_api.infra.aws.S3StorageBackend;
+import com.karoldm.k_board_api.support.LocalS3Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
 class UserServiceTest {
+    private static final String BUCKET_URL = "https://k-board-images.example.com/";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private StorageOutboxService storageOutboxService;
+
+    @Mock
+    private AuthService authService;
+
+    @Mock
+    private SessionUserCache sessionUserCache;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private PhotoThumbnailService thumbnailService;
+
+    private LocalS3Server s3;
+    private UserService userService;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        s3 = new LocalS3Server("k-board-images", 1000);
+        FileStorageService storageService = new FileStorageService(new S3StorageBackend(s3.client(), "k-board-images", BUCKET_URL));
+
+        userService = new UserService(userRepository, projectRepository, storageOutboxService, authService, sessionUserCache,
+                passwordHashingService, storageService, thumbnailService);
+        ReflectionTestUtils.setField(userService, "maxPhotoSize", 1024L);
+        ReflectionTestUtils.setField(userService, "uploadUrlValidity", Duration.ofMinutes(5));
+
+        lenient().when(authService.getSessionUserId()).thenReturn(userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3.close();
+    }
+
+    @Test
+    void shouldSwapPhotoAfterVerifyingTheDirectUpload() throws Exception {
+        PhotoUploadIntentResponseDTO intent = userService.createPhotoUploadIntent(new PhotoUploadIntentPayloadDTO("image/png", 3L));
+
+        assertTrue(intent.key().startsWith("avatars/" + userId + "/"));
+        assertTrue(intent.expiresAt().toInstant().isAfter(Instant.now()));
+        HttpResponse<Void> upload = HttpClient.newHttpClient().send(HttpRequest.newBuilder(URI.create(intent.uploadUrl()))
+                .header("Content-Type", intent.contentType())
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(new byte[]{1, 2, 3}))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        assertEquals(200, upload.statusCode());
+
+        User user = User.builder().id(userId).name("user").email("user@example.com").photoUrl(BUCKET_URL + intent.key()).build();
+        when(storageOutboxService.replaceUserPhoto(userId, BUCKET_URL + intent.key())).thenReturn(user);
+
+        UserResponseDTO response = userService.completePhotoUpload(new CompletePhotoUploadPayloadDTO(intent.key()));
+
+        assertEquals(BUCKET_URL + intent.key(), response.photoUrl());
+        verify(thumbnailService).generateInBackground(userId, BUCKET_URL + intent.key());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void shouldRejectUnsupportedOrOversizedPhotosBeforeSigning() {
+        ResponseStatusException wrongType = assertThrows(ResponseStatusException.class,
+                () -> userService.createPhotoUploadIntent(new PhotoUploadIntentPayloadDTO("image/svg+xml", 3L)));
+        ResponseStatusException tooLarge = assertThrows(ResponseStatusException.class,
+                () -> userService.createPhotoUploadIntent(new PhotoUploadIntentPayloadDTO("image/png", 4096L)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, wrongType.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, tooLarge.getStatusCode());
+    }
+
+    @Test
+    void shouldDeleteUploadThatDoesNotMatchTheLimits() {
+        String key = "avatars/" + userId + "/" + UUID.randomUUID() + ".png";
+        s3.putObject(key, new byte[2048], "image/png", Instant.now());
+
+        assertThrows(ResponseStatusException.class,
+                () -> userService.completePhotoUpload(new CompletePhotoUploadPayloadDTO(key)));
+
+        assertEquals(Set.of(), s3.keys());
+        verify(storageOutboxService, never()).replaceUserPhoto(any(), any());
+    }
+
+    @Test
+    void shouldRejectKeysOutsideTheUsersOwnPrefix() {
+        String otherUsersKey = "avatars/" + UUID.randomUUID() + "/" + UUID.randomUUID() + ".png";
+        s3.putObject(otherUsersKey, new byte[]{1}, "image/png", Instant.now());
+
+        assertThrows(ResponseStatusException.class,
+                () -> userService.completePhotoUpload(new CompletePhotoUploadPayloadDTO(otherUsersKey)));
+        assertThrows(ResponseStatusException.class,
+                () -> userService.completePhotoUpload(new CompletePhotoUploadPayloadDTO("avatars/" + userId + "/../x.png")));
+
+        assertEquals(Set.of(otherUsersKey), s3.keys());
+        verify(storageOutboxService, never()).replaceUserPhoto(any(), any());
+    }
 }
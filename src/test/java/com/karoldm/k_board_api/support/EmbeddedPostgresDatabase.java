@@ -0,0 +1,41 @@
+package com.karoldm.k_board_api.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * One embedded Postgres per test JVM, migrated by Flyway on the first context
+ * that uses it. Register it from a {@code @DynamicPropertySource} method.
+ */
+public class EmbeddedPostgresDatabase {
+    private static EmbeddedPostgres postgres;
+
+    private EmbeddedPostgresDatabase(){}
+
+    public static void register(DynamicPropertyRegistry registry) {
+        EmbeddedPostgres database = start();
+        registry.add("spring.datasource.url", () -> database.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    private static synchronized EmbeddedPostgres start() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                }
+            }));
+        }
+        return postgres;
+    }
+}
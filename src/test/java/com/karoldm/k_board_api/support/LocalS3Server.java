@@ -0,0 +1,237 @@
+package com.karoldm.k_board_api.support;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for the part of the S3 REST API the storage code uses: path-style
+ * PUT, GET, HEAD, DELETE, ListObjectsV2 and multi-object delete on a single bucket, which also
+ * accepts presigned URLs. Requests are not authenticated. Every request is recorded as
+ * {@code "METHOD /path?query"} so tests can count round trips.
+ */
+public class LocalS3Server implements AutoCloseable {
+    private static final Pattern DELETE_KEY = Pattern.compile("<Key>(.*?)</Key>");
+
+    private record StoredObject(byte[] content, String contentType, String etag, Instant lastModified) {
+    }
+
+    private final String bucket;
+    private final int pageSize;
+    private final HttpServer server;
+    private final NavigableMap<String, StoredObject> objects = new ConcurrentSkipListMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    public LocalS3Server(String bucket, int pageSize) {
+        this.bucket = bucket;
+        this.pageSize = pageSize;
+        try {
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public AmazonS3 client() {
+        return AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("test", "test")))
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint(), "us-east-2"))
+                .withPathStyleAccessEnabled(true)
+                .disableChunkedEncoding()
+                .build();
+    }
+
+    public void putObject(String key, byte[] content, Instant lastModified) {
+        putObject(key, content, "application/octet-stream", lastModified);
+    }
+
+    public void putObject(String key, byte[] content, String contentType, Instant lastModified) {
+        objects.put(key, new StoredObject(content, contentType, md5(content), lastModified));
+    }
+
+    public byte[] content(String key) {
+        StoredObject object = objects.get(key);
+        return object == null ? null : object.content();
+    }
+
+    public String contentType(String key) {
+        StoredObject object = objects.get(key);
+        return object == null ? null : object.contentType();
+    }
+
+    public Set<String> keys() {
+        return new TreeSet<>(objects.keySet());
+    }
+
+    public List<String> requests() {
+        return List.copyOf(requests);
+    }
+
+    public void clear() {
+        objects.clear();
+        requests.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String query = Objects.requireNonNullElse(exchange.getRequestURI().getRawQuery(), "");
+        String method = exchange.getRequestMethod();
+        requests.add(method + " " + path + (query.isEmpty() ? "" : "?" + query));
+
+        String prefix = "/" + bucket;
+        if (!path.startsWith(prefix)) {
+            respond(exchange, 404, "");
+            return;
+        }
+        String key = path.length() > prefix.length() + 1 ? path.substring(prefix.length() + 1) : "";
+        Map<String, String> parameters = parseQuery(query);
+        byte[] body = exchange.getRequestBody().readAllBytes();
+
+        switch (method) {
+            case "PUT" -> {
+                String contentType = Objects.requireNonNullElse(exchange.getRequestHeaders().getFirst("Content-Type"),
+                        "application/octet-stream");
+                putObject(key, body, contentType, Instant.now());
+                exchange.getResponseHeaders().add("ETag", "\"" + objects.get(key).etag() + "\"");
+                respond(exchange, 200, "");
+            }
+            case "HEAD" -> {
+                StoredObject object = objects.get(key);
+                if (object == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                } else {
+                    exchange.getResponseHeaders().add("Content-Type", object.contentType());
+                    exchange.getResponseHeaders().add("Content-Length", String.valueOf(object.content().length));
+                    exchange.getResponseHeaders().add("ETag", "\"" + object.etag() + "\"");
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                exchange.close();
+            }
+            case "DELETE" -> {
+                objects.remove(key);
+                exchange.sendResponseHeaders(204, -1);
+                exchange.close();
+            }
+            case "POST" -> {
+                if (!parameters.containsKey("delete")) {
+                    respond(exchange, 400, "");
+                    return;
+                }
+                Matcher matcher = DELETE_KEY.matcher(new String(body, StandardCharsets.UTF_8));
+                while (matcher.find()) {
+                    objects.remove(matcher.group(1));
+                }
+                respond(exchange, 200, "<DeleteResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\"></DeleteResult>");
+            }
+            case "GET" -> {
+                if (!key.isEmpty()) {
+                    StoredObject object = objects.get(key);
+                    if (object == null) {
+                        respond(exchange, 404, "");
+                        return;
+                    }
+                    exchange.getResponseHeaders().add("Content-Type", object.contentType());
+                    exchange.getResponseHeaders().add("ETag", "\"" + object.etag() + "\"");
+                    exchange.sendResponseHeaders(200, object.content().length == 0 ? -1 : object.content().length);
+                    exchange.getResponseBody().write(object.content());
+                    exchange.close();
+                    return;
+                }
+                if (!"2".equals(parameters.get("list-type"))) {
+                    respond(exchange, 400, "");
+                    return;
+                }
+                respond(exchange, 200, list(parameters));
+            }
+            default -> respond(exchange, 405, "");
+        }
+    }
+
+    private String list(Map<String, String> parameters) {
+        int maxKeys = Math.min(pageSize, Integer.parseInt(parameters.getOrDefault("max-keys", "1000")));
+        String token = parameters.get("continuation-token");
+        NavigableMap<String, StoredObject> remaining = token == null ? objects : objects.tailMap(token, false);
+
+        StringBuilder contents = new StringBuilder();
+        String lastKey = null;
+        int count = 0;
+        for (Map.Entry<String, StoredObject> entry : remaining.entrySet()) {
+            if (count == maxKeys) break;
+            contents.append("<Contents><Key>").append(entry.getKey()).append("</Key>")
+                    .append("<LastModified>").append(entry.getValue().lastModified()).append("</LastModified>")
+                    .append("<ETag>\"").append(entry.getValue().etag()).append("\"</ETag>")
+                    .append("<Size>").append(entry.getValue().content().length).append("</Size>")
+                    .append("<StorageClass>STANDARD</StorageClass></Contents>");
+            lastKey = entry.getKey();
+            count++;
+        }
+        boolean truncated = lastKey != null && objects.higherKey(lastKey) != null;
+
+        return "<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+                + "<Name>" + bucket + "</Name><Prefix></Prefix>"
+                + "<KeyCount>" + count + "</KeyCount><MaxKeys>" + maxKeys + "</MaxKeys>"
+                + "<IsTruncated>" + truncated + "</IsTruncated>"
+                + (truncated ? "<NextContinuationToken>" + lastKey + "</NextContinuationToken>" : "")
+                + contents
+                + "</ListBucketResult>";
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) continue;
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            parameters.put(name, value);
+        }
+        return parameters;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            exchange.getResponseBody().write(bytes);
+        }
+        exchange.close();
+    }
+
+    private static String md5(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.karoldm.k_board_api.support;
+
+import com.karoldm.k_board_api.infra.observability.SqlStatisticsFilter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Statement and latency budgets for code running against a real JPA context.
+ *
+ * <p>Service tests count through Hibernate statistics, so the persistence unit needs
+ * {@code hibernate.generate_statistics=true} (the {@code h2} test profile sets it):
+ * <pre>
+ * QueryBudget.of(entityManagerFactory).maxStatements(4)
+ *         .run("getTasksByProject", () -&gt; taskService.getTasksByProject(projectId, Optional.empty()));
+ * </pre>
+ * MockMvc tests read the statement count the {@link SqlStatisticsFilter} reports, which needs
+ * {@code api.sql.query-count-header=true}:
+ * <pre>
+ * mockMvc.perform(get("/project/owner")).andExpect(QueryBudget.statementsAtMost(5));
+ * </pre>
+ */
+public final class QueryBudget {
+    private final Statistics statistics;
+    private final long maxStatements;
+    private final Duration maxLatency;
+
+    private QueryBudget(Statistics statistics, long maxStatements, Duration maxLatency) {
+        this.statistics = statistics;
+        this.maxStatements = maxStatements;
+        this.maxLatency = maxLatency;
+    }
+
+    public static QueryBudget of(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            throw new IllegalStateException("hibernate.generate_statistics must be enabled to check query budgets");
+        }
+        return new QueryBudget(statistics, Long.MAX_VALUE, null);
+    }
+
+    public QueryBudget maxStatements(long maxStatements) {
+        return new QueryBudget(statistics, maxStatements, maxLatency);
+    }
+
+    public QueryBudget maxLatency(Duration maxLatency) {
+        return new QueryBudget(statistics, maxStatements, maxLatency);
+    }
+
+    /**
+     * Runs {@code action} and fails if it prepared more statements or took longer than allowed.
+     * The persistence context should be cleared beforehand, otherwise cached entities hide queries.
+     */
+    public <T> T run(String description, Supplier<T> action) {
+        statistics.clear();
+        long start = System.nanoTime();
+        T result = action.get();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        long statements = statistics.getPrepareStatementCount();
+        if (statements > maxStatements) {
+            fail(String.format("%s issued %d statements, budget is %d (entity fetches: %d, collection fetches: %d, queries: %s)",
+                    description, statements, maxStatements, statistics.getEntityFetchCount(),
+                    statistics.getCollectionFetchCount(), Arrays.toString(statistics.getQueries())));
+        }
+        if (maxLatency != null && elapsed.compareTo(maxLatency) > 0) {
+            fail(String.format("%s took %d ms, budget is %d ms", description, elapsed.toMillis(), maxLatency.toMillis()));
+        }
+        return result;
+    }
+
+    public static ResultMatcher statementsAtMost(int maxStatements) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatisticsFilter.QUERY_COUNT_HEADER);
+            assertNotNull(header, SqlStatisticsFilter.QUERY_COUNT_HEADER + " is missing, enable api.sql.query-count-header");
+
+            int statements = Integer.parseInt(header);
+            if (statements > maxStatements) {
+                fail(String.format("%s %s issued %d statements, budget is %d", result.getRequest().getMethod(),
+                        result.getRequest().getRequestURI(), statements, maxStatements));
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.karoldm.k_board_api.utils;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallerLoadingCacheTest {
+
+    private final AsyncCache<String, String> cache = Caffeine.newBuilder().buildAsync();
+
+    @Test
+    void shouldLoadOnCallerThreadAndKeepValue() {
+        AtomicInteger loads = new AtomicInteger();
+        Thread caller = Thread.currentThread();
+
+        String first = CallerLoadingCache.get(cache, "key", key -> {
+            loads.incrementAndGet();
+            assertSame(caller, Thread.currentThread());
+            return key.toUpperCase();
+        });
+        String second = CallerLoadingCache.get(cache, "key", key -> "other");
+
+        assertEquals("KEY", first);
+        assertEquals("KEY", second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldNotKeepNullOrFailedLoads() {
+        assertNull(CallerLoadingCache.get(cache, "key", key -> null));
+        assertThrows(IllegalStateException.class, () -> CallerLoadingCache.get(cache, "key", key -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        assertEquals("value", CallerLoadingCache.get(cache, "key", key -> "value"));
+    }
+}
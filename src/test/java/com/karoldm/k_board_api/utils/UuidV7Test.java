@@ -0,0 +1,33 @@
+package com.karoldm.k_board_api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void shouldGenerateVersion7UuidsWithCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.randomUuid();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue(UuidV7.timestampMillis(uuid) >= before);
+        assertTrue(UuidV7.timestampMillis(uuid) <= after + 1);
+    }
+
+    @Test
+    void shouldGenerateStrictlyIncreasingUuids() {
+        UUID previous = UuidV7.randomUuid();
+
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7.randomUuid();
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = next;
+        }
+    }
+}